@@ -0,0 +1,82 @@
+package com.reflectmap.benchmark.reflectmap;
+
+import com.reflectmap.BatchOptions;
+import com.reflectmap.Mapper;
+import com.reflectmap.ReflectMap;
+import com.reflectmap.mock.Destination25;
+import com.reflectmap.mock.Source25;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps a batch of pre-allocated destinations, comparing {@code mapAll} on pools of increasing parallelism against
+ * the sequential {@code ReflectMap.map} loop. The pool is a state of its own, so the loop runs once rather than once
+ * per parallelism.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class AverageTimeBatchReflectMapBenchmark {
+
+    private static final Mapper<Source25, Destination25> MAPPER =
+            ReflectMap.mapper(Source25.class, Destination25.class);
+
+    @Param({"100000"})
+    public int size;
+
+    protected Source25[] src;
+    protected Destination25[] dst;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        src = new Source25[size];
+        dst = new Destination25[size];
+        for (int i = 0; i < size; i++) {
+            String value = "Hello" + i;
+            src[i] = new Source25(value, value, value, value, value,
+                    value, value, value, value, value,
+                    value, value, value, value, value,
+                    value, value, value, value, value,
+                    value, value, value, value, value);
+            dst[i] = new Destination25();
+        }
+    }
+
+    @Benchmark
+    public void loop() {
+        for (int i = 0; i < size; i++) {
+            ReflectMap.map(src[i], Source25.class, dst[i], Destination25.class);
+        }
+    }
+
+    @Benchmark
+    public void mapAll(Pool pool) {
+        MAPPER.mapAll(src, dst, pool.options);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Pool {
+
+        @Param({"1", "2", "4", "8"})
+        public int parallelism;
+
+        protected ForkJoinPool pool;
+        protected BatchOptions options;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            pool = new ForkJoinPool(parallelism);
+            options = BatchOptions.parallel(pool);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            pool.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.reflectmap.benchmark.reflectmap;
+
+import com.reflectmap.CopyMode;
+import com.reflectmap.Mapper;
+import com.reflectmap.ReflectMap;
+import com.reflectmap.mock.GraphNode;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deep copies graphs seven levels deep, comparing {@code CopyMode.DEEP_COPY} against serialization-based cloning.
+ * <ul>
+ *     <li>{@code TREE}: a complete binary tree of 127 nodes, with no shared nodes.</li>
+ *     <li>{@code DAG}: every level is a single pair of nodes, shared as children by both nodes of the level above.</li>
+ *     <li>{@code CYCLE}: the binary tree, with every leaf's right reference pointing back at the root.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class AverageTimeDeepCopyReflectMapBenchmark {
+
+    private static final Mapper<GraphNode, GraphNode> MAPPER =
+            ReflectMap.mapper(GraphNode.class, GraphNode.class, CopyMode.DEEP_COPY);
+
+    private static final int DEPTH = 7;
+
+    @Param({"TREE", "DAG", "CYCLE"})
+    public String shape;
+
+    protected GraphNode src;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        src = switch (shape) {
+            case "TREE" -> tree(DEPTH);
+            case "DAG" -> dag(DEPTH);
+            case "CYCLE" -> cycle(DEPTH);
+            default -> throw new IllegalArgumentException(shape);
+        };
+    }
+
+    @Benchmark
+    public GraphNode deepCopy() {
+        return MAPPER.map(src);
+    }
+
+    @Benchmark
+    public Object serializationCopy() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(src);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return in.readObject();
+        }
+    }
+
+    private static GraphNode tree(int depth) {
+        GraphNode node = node(depth);
+        if (depth > 1) {
+            node.setLeft(tree(depth - 1));
+            node.setRight(tree(depth - 1));
+        }
+        return node;
+    }
+
+    private static GraphNode dag(int depth) {
+        GraphNode root = node(depth);
+        GraphNode[] level = {root};
+        for (int d = depth - 1; d > 0; d--) {
+            GraphNode left = node(d);
+            GraphNode right = node(d);
+            for (GraphNode parent : level) {
+                parent.setLeft(left);
+                parent.setRight(right);
+            }
+            level = new GraphNode[] {left, right};
+        }
+        return root;
+    }
+
+    private static GraphNode cycle(int depth) {
+        GraphNode root = tree(depth);
+        linkLeaves(root, root);
+        return root;
+    }
+
+    private static void linkLeaves(GraphNode node, GraphNode root) {
+        if (node.getLeft() == null) {
+            node.setRight(root);
+            return;
+        }
+        linkLeaves(node.getLeft(), root);
+        linkLeaves(node.getRight(), root);
+    }
+
+    private static GraphNode node(int depth) {
+        GraphNode node = new GraphNode();
+        node.setName("Node" + depth);
+        node.setValue(depth * 1_000_003L);
+        return node;
+    }
+
+}
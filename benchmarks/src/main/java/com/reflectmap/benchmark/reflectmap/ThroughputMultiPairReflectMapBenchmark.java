@@ -0,0 +1,101 @@
+package com.reflectmap.benchmark.reflectmap;
+
+import com.reflectmap.CopyMode;
+import com.reflectmap.Mapper;
+import com.reflectmap.ReflectMap;
+import com.reflectmap.mock.Destination25;
+import com.reflectmap.mock.DestinationNestedGuarded;
+import com.reflectmap.mock.DestinationNestedUnguarded;
+import com.reflectmap.mock.DestinationPrimitives;
+import com.reflectmap.mock.Source25;
+import com.reflectmap.mock.SourceNested;
+import com.reflectmap.mock.SourcePrimitives;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps five type pairs per operation, so the shared {@code Mapper.map} implementation is reached with several
+ * compiled consumers. Compares mappers held in {@code static final} fields against the per-call lookup of
+ * {@code ReflectMap.map} and the same mappers called through one array call site.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ThroughputMultiPairReflectMapBenchmark {
+
+    private static final Mapper<Source25, Destination25> MAPPER_25 =
+            ReflectMap.mapper(Source25.class, Destination25.class);
+    private static final Mapper<Source25, Destination25> HIDDEN_CLASS_MAPPER_25 =
+            ReflectMap.mapper(Source25.class, Destination25.class, CopyMode.ANNOTATION_DRIVEN_HIDDEN_CLASS);
+    private static final Mapper<SourcePrimitives, DestinationPrimitives> PRIMITIVES_MAPPER =
+            ReflectMap.mapper(SourcePrimitives.class, DestinationPrimitives.class);
+    private static final Mapper<SourceNested, DestinationNestedGuarded> GUARDED_MAPPER =
+            ReflectMap.mapper(SourceNested.class, DestinationNestedGuarded.class);
+    private static final Mapper<SourceNested, DestinationNestedUnguarded> UNGUARDED_MAPPER =
+            ReflectMap.mapper(SourceNested.class, DestinationNestedUnguarded.class);
+
+    @SuppressWarnings("rawtypes")
+    private final Mapper[] mappers = {MAPPER_25, HIDDEN_CLASS_MAPPER_25, PRIMITIVES_MAPPER, GUARDED_MAPPER, UNGUARDED_MAPPER};
+
+    protected Source25 src25;
+    protected Destination25 dst25;
+    protected SourcePrimitives srcPrimitives;
+    protected DestinationPrimitives dstPrimitives;
+    protected SourceNested srcNested;
+    protected DestinationNestedGuarded guardedDst;
+    protected DestinationNestedUnguarded unguardedDst;
+    protected Object[] srcs;
+    protected Object[] dsts;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        src25 = new Source25("Hello1", "Hello2", "Hello3", "Hello4", "Hello5",
+                "Hello6", "Hello7", "Hello8", "Hello9", "Hello10",
+                "Hello11", "Hello12", "Hello13", "Hello14", "Hello15",
+                "Hello16", "Hello17", "Hello18", "Hello19", "Hello20",
+                "Hello21", "Hello22", "Hello23", "Hello24", "Hello25");
+        srcPrimitives = new SourcePrimitives(true, (byte) -100, 'Z', (short) 30_000, 1_000_000,
+                1_700_000_000_000L, 0.25f, 101.375, 2_000_000,
+                9_000_000_000L, 101.25, 101.5);
+        srcNested = new SourceNested(new SourceNested.Order("Order1",
+                new SourceNested.Instrument("Symbol1", 1_000_000L, 101.375)));
+
+        dst25 = new Destination25();
+        dstPrimitives = new DestinationPrimitives();
+        guardedDst = new DestinationNestedGuarded();
+        unguardedDst = new DestinationNestedUnguarded();
+
+        srcs = new Object[] {src25, src25, srcPrimitives, srcNested, srcNested};
+        dsts = new Object[] {dst25, dst25, dstPrimitives, guardedDst, unguardedDst};
+    }
+
+    @Benchmark
+    public void map() {
+        ReflectMap.map(src25, Source25.class, dst25, Destination25.class);
+        ReflectMap.map(src25, Source25.class, dst25, Destination25.class, CopyMode.ANNOTATION_DRIVEN_HIDDEN_CLASS);
+        ReflectMap.map(srcPrimitives, SourcePrimitives.class, dstPrimitives, DestinationPrimitives.class);
+        ReflectMap.map(srcNested, SourceNested.class, guardedDst, DestinationNestedGuarded.class);
+        ReflectMap.map(srcNested, SourceNested.class, unguardedDst, DestinationNestedUnguarded.class);
+    }
+
+    @Benchmark
+    public void mapper() {
+        MAPPER_25.map(src25, dst25);
+        HIDDEN_CLASS_MAPPER_25.map(src25, dst25);
+        PRIMITIVES_MAPPER.map(srcPrimitives, dstPrimitives);
+        GUARDED_MAPPER.map(srcNested, guardedDst);
+        UNGUARDED_MAPPER.map(srcNested, unguardedDst);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void mapperArray() {
+        for (int i = 0; i < mappers.length; i++) {
+            mappers[i].map(srcs[i], dsts[i]);
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.reflectmap.benchmark.reflectmap;
+
+import com.reflectmap.CopyMode;
+import com.reflectmap.Mapper;
+import com.reflectmap.ReflectMap;
+import com.reflectmap.mock.DestinationNestedGuarded;
+import com.reflectmap.mock.DestinationNestedUnguarded;
+import com.reflectmap.mock.SourceNested;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps the same nested source paths with and without null-safe navigation, while nothing on the paths is null.
+ * The guarded and unguarded scores should be within noise of each other.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ThroughputNestedReflectMapBenchmark {
+
+    private static final Mapper<SourceNested, DestinationNestedGuarded> GUARDED_MAPPER =
+            ReflectMap.mapper(SourceNested.class, DestinationNestedGuarded.class);
+    private static final Mapper<SourceNested, DestinationNestedUnguarded> UNGUARDED_MAPPER =
+            ReflectMap.mapper(SourceNested.class, DestinationNestedUnguarded.class);
+    private static final Mapper<SourceNested, DestinationNestedGuarded> GUARDED_HIDDEN_CLASS_MAPPER =
+            ReflectMap.mapper(SourceNested.class, DestinationNestedGuarded.class, CopyMode.ANNOTATION_DRIVEN_HIDDEN_CLASS);
+    private static final Mapper<SourceNested, DestinationNestedUnguarded> UNGUARDED_HIDDEN_CLASS_MAPPER =
+            ReflectMap.mapper(SourceNested.class, DestinationNestedUnguarded.class, CopyMode.ANNOTATION_DRIVEN_HIDDEN_CLASS);
+
+    protected SourceNested src;
+    protected DestinationNestedGuarded guardedDst;
+    protected DestinationNestedUnguarded unguardedDst;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        src = new SourceNested(new SourceNested.Order("Order1",
+                new SourceNested.Instrument("Symbol1", 1_000_000L, 101.375)));
+
+        guardedDst = new DestinationNestedGuarded();
+        unguardedDst = new DestinationNestedUnguarded();
+    }
+
+    @Benchmark
+    public void mapperGuarded() {
+        GUARDED_MAPPER.map(src, guardedDst);
+    }
+
+    @Benchmark
+    public void mapperUnguarded() {
+        UNGUARDED_MAPPER.map(src, unguardedDst);
+    }
+
+    @Benchmark
+    public void mapperHiddenClassGuarded() {
+        GUARDED_HIDDEN_CLASS_MAPPER.map(src, guardedDst);
+    }
+
+    @Benchmark
+    public void mapperHiddenClassUnguarded() {
+        UNGUARDED_HIDDEN_CLASS_MAPPER.map(src, unguardedDst);
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.reflectmap.benchmark.reflectmap;
+
+import com.reflectmap.CopyMode;
+import com.reflectmap.ReflectMap;
+import com.reflectmap.mock.DestinationPrimitives;
+import com.reflectmap.mock.SourcePrimitives;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps only primitive fields, with values outside every boxing cache. Run with {@code -prof gc}
+ * (see {@code PrimitiveReflectMapGcBenchmarkRunner}) to confirm the mapping allocates nothing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ThroughputPrimitiveReflectMapBenchmark {
+
+    protected SourcePrimitives src;
+    protected DestinationPrimitives dst;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        src = new SourcePrimitives(true, (byte) -100, 'Z', (short) 30_000, 1_000_000,
+                1_700_000_000_000L, 0.25f, 101.375, 2_000_000,
+                9_000_000_000L, 101.25, 101.5);
+
+        dst = new DestinationPrimitives();
+    }
+
+    @Benchmark
+    public void map() {
+        ReflectMap.map(src, SourcePrimitives.class, dst, DestinationPrimitives.class);
+    }
+
+    @Benchmark
+    public void mapHiddenClass() {
+        ReflectMap.map(src, SourcePrimitives.class, dst, DestinationPrimitives.class, CopyMode.ANNOTATION_DRIVEN_HIDDEN_CLASS);
+    }
+
+}
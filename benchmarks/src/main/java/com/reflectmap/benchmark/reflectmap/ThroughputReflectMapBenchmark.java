@@ -1,5 +1,7 @@
 package com.reflectmap.benchmark.reflectmap;
 
+import com.reflectmap.CopyMode;
+import com.reflectmap.Mapper;
 import com.reflectmap.ReflectMap;
 import com.reflectmap.mock.Destination25;
 import com.reflectmap.mock.Source25;
@@ -14,6 +16,11 @@ import java.util.concurrent.TimeUnit;
 @State(Scope.Thread)
 public class ThroughputReflectMapBenchmark {
 
+    private static final Mapper<Source25, Destination25> MAPPER =
+            ReflectMap.mapper(Source25.class, Destination25.class);
+    private static final Mapper<Source25, Destination25> HIDDEN_CLASS_MAPPER =
+            ReflectMap.mapper(Source25.class, Destination25.class, CopyMode.ANNOTATION_DRIVEN_HIDDEN_CLASS);
+
     protected Source25 src;
     protected Destination25 dst;
 
@@ -33,4 +40,24 @@ public class ThroughputReflectMapBenchmark {
         ReflectMap.map(src, Source25.class, dst, Destination25.class);
     }
 
+    @Benchmark
+    public void mapHiddenClass() {
+        ReflectMap.map(src, Source25.class, dst, Destination25.class, CopyMode.ANNOTATION_DRIVEN_HIDDEN_CLASS);
+    }
+
+    @Benchmark
+    public Destination25 mapNewInstance() {
+        return ReflectMap.map(src, Destination25.class);
+    }
+
+    @Benchmark
+    public void mapper() {
+        MAPPER.map(src, dst);
+    }
+
+    @Benchmark
+    public void mapperHiddenClass() {
+        HIDDEN_CLASS_MAPPER.map(src, dst);
+    }
+
 }
\ No newline at end of file
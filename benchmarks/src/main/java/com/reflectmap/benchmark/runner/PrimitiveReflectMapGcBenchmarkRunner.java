@@ -0,0 +1,24 @@
+package com.reflectmap.benchmark.runner;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class PrimitiveReflectMapGcBenchmarkRunner {
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(".*PrimitiveReflectMapBenchmark.*")
+                .forks(1)
+                .threads(1)
+                .shouldFailOnError(true)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("benchmarks/results/reflectmap/primitive-gc-metrics.json")
+                .jvmArgs("-XX:+UnlockDiagnosticVMOptions", "-XX:+DebugNonSafepoints")
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,21 @@
+package com.reflectmap.mock;
+
+import com.reflectmap.annotation.FieldMapping;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A flat destination class mapped from the nested paths of SourceNested, which are null-safe, the default.
+ */
+@Setter
+@Getter
+public class DestinationNestedGuarded {
+    @FieldMapping(srcType = SourceNested.class, srcFieldName = "order.id", nullSafe = true)
+    private String orderId;
+    @FieldMapping(srcType = SourceNested.class, srcFieldName = "order.instrument.symbol", nullSafe = true)
+    private String symbol;
+    @FieldMapping(srcType = SourceNested.class, srcFieldName = "order.instrument.quantity", nullSafe = true)
+    private long quantity;
+    @FieldMapping(srcType = SourceNested.class, srcFieldName = "order.instrument.price", nullSafe = true)
+    private double price;
+}
@@ -0,0 +1,21 @@
+package com.reflectmap.mock;
+
+import com.reflectmap.annotation.FieldMapping;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A flat destination class mapped from the nested paths of SourceNested, which are not null-safe.
+ */
+@Setter
+@Getter
+public class DestinationNestedUnguarded {
+    @FieldMapping(srcType = SourceNested.class, srcFieldName = "order.id", nullSafe = false)
+    private String orderId;
+    @FieldMapping(srcType = SourceNested.class, srcFieldName = "order.instrument.symbol", nullSafe = false)
+    private String symbol;
+    @FieldMapping(srcType = SourceNested.class, srcFieldName = "order.instrument.quantity", nullSafe = false)
+    private long quantity;
+    @FieldMapping(srcType = SourceNested.class, srcFieldName = "order.instrument.price", nullSafe = false)
+    private double price;
+}
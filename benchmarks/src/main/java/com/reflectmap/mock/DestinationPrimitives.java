@@ -0,0 +1,38 @@
+package com.reflectmap.mock;
+
+import com.reflectmap.annotation.FieldMapping;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A destination class with one field of every primitive type.
+ * Each field is annotated to map from the corresponding field in SourcePrimitives.
+ */
+@Setter
+@Getter
+public class DestinationPrimitives {
+    @FieldMapping(srcType = SourcePrimitives.class, srcFieldName = "flag")
+    private boolean destFlag;
+    @FieldMapping(srcType = SourcePrimitives.class, srcFieldName = "code")
+    private byte destCode;
+    @FieldMapping(srcType = SourcePrimitives.class, srcFieldName = "side")
+    private char destSide;
+    @FieldMapping(srcType = SourcePrimitives.class, srcFieldName = "venue")
+    private short destVenue;
+    @FieldMapping(srcType = SourcePrimitives.class, srcFieldName = "quantity")
+    private int destQuantity;
+    @FieldMapping(srcType = SourcePrimitives.class, srcFieldName = "timestamp")
+    private long destTimestamp;
+    @FieldMapping(srcType = SourcePrimitives.class, srcFieldName = "spread")
+    private float destSpread;
+    @FieldMapping(srcType = SourcePrimitives.class, srcFieldName = "price")
+    private double destPrice;
+    @FieldMapping(srcType = SourcePrimitives.class, srcFieldName = "sequence")
+    private int destSequence;
+    @FieldMapping(srcType = SourcePrimitives.class, srcFieldName = "orderId")
+    private long destOrderId;
+    @FieldMapping(srcType = SourcePrimitives.class, srcFieldName = "bid")
+    private double destBid;
+    @FieldMapping(srcType = SourcePrimitives.class, srcFieldName = "ask")
+    private double destAsk;
+}
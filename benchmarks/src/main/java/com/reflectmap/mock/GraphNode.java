@@ -0,0 +1,18 @@
+package com.reflectmap.mock;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * A mutable graph node with two outgoing references, used to build trees, DAGs and cyclic graphs for deep copies.
+ */
+@Setter
+@Getter
+public class GraphNode implements Serializable {
+    private String name;
+    private long value;
+    private GraphNode left;
+    private GraphNode right;
+}
@@ -0,0 +1,28 @@
+package com.reflectmap.mock;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A source class whose values sit two objects deep, reached through dotted source paths.
+ */
+@AllArgsConstructor
+@Getter
+public class SourceNested {
+    private final Order order;
+
+    @AllArgsConstructor
+    @Getter
+    public static class Order {
+        private final String id;
+        private final Instrument instrument;
+    }
+
+    @AllArgsConstructor
+    @Getter
+    public static class Instrument {
+        private final String symbol;
+        private final long quantity;
+        private final double price;
+    }
+}
@@ -0,0 +1,24 @@
+package com.reflectmap.mock;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A source class with one field of every primitive type, plus extra numeric fields typical of market data.
+ */
+@AllArgsConstructor
+@Getter
+public class SourcePrimitives {
+    private final boolean flag;
+    private final byte code;
+    private final char side;
+    private final short venue;
+    private final int quantity;
+    private final long timestamp;
+    private final float spread;
+    private final double price;
+    private final int sequence;
+    private final long orderId;
+    private final double bid;
+    private final double ask;
+}
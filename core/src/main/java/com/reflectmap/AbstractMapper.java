@@ -0,0 +1,71 @@
+package com.reflectmap;
+
+import com.reflectmap.internal.jfr.MapEvent;
+import com.reflectmap.internal.jfr.MappingEvents;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The batch and stream operations shared by every mapper, built on its single-object {@code map} methods, which
+ * report their sampled calls as JFR map events.
+ */
+abstract class AbstractMapper<S, D> implements Mapper<S, D> {
+
+    private final Class<S> srcType;
+    private final Class<D> dstType;
+    private final String copyMode;
+    private final int fieldCount;
+
+    AbstractMapper(Class<S> srcType, Class<D> dstType, String copyMode, int fieldCount) {
+        this.srcType = srcType;
+        this.dstType = dstType;
+        this.copyMode = copyMode;
+        this.fieldCount = fieldCount;
+    }
+
+    /**
+     * Commits the map event of a sampled call, once it has mapped.
+     */
+    final void mapped(MapEvent event) {
+        MappingEvents.mapped(event, copyMode, srcType, dstType, fieldCount);
+    }
+
+    @Override
+    public List<D> mapAll(List<? extends S> src, BatchOptions options) {
+        D[] dst = newArray(src.size());
+        BatchMapTask.run(this, src.toArray(), dst, options);
+        return Arrays.asList(dst);
+    }
+
+    @Override
+    public D[] mapAll(S[] src, BatchOptions options) {
+        D[] dst = newArray(src.length);
+        BatchMapTask.run(this, src, dst, options);
+        return dst;
+    }
+
+    @Override
+    public void mapAll(S[] src, D[] dst, BatchOptions options) {
+        BatchMapTask.run(this, src, dst, options);
+    }
+
+    @Override
+    public Spliterator<D> spliterator(Spliterator<? extends S> src) {
+        return new MappingSpliterator<>(src, this);
+    }
+
+    @Override
+    public Stream<D> mapAll(Stream<? extends S> src) {
+        return StreamSupport.stream(spliterator(src.spliterator()), src.isParallel()).onClose(src::close);
+    }
+
+    @SuppressWarnings("unchecked")
+    private D[] newArray(int length) {
+        return (D[]) Array.newInstance(dstType, length);
+    }
+}
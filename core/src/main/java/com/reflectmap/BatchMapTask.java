@@ -0,0 +1,67 @@
+package com.reflectmap;
+
+import java.io.Serial;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Maps {@code src[from, to)} into {@code dst[from, to)} with a single resolved mapper, splitting in halves until
+ * each part is no larger than the threshold. Null destination elements are created by the mapper.
+ */
+final class BatchMapTask<S, D> extends RecursiveAction {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final Mapper<S, D> mapper;
+    private final Object[] src;
+    private final D[] dst;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    BatchMapTask(Mapper<S, D> mapper, Object[] src, D[] dst, int from, int to, int threshold) {
+        this.mapper = mapper;
+        this.src = src;
+        this.dst = dst;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+    }
+
+    static <S, D> void run(Mapper<S, D> mapper, Object[] src, D[] dst, BatchOptions options) {
+        if (src.length != dst.length) {
+            throw new IllegalArgumentException(String.format("Source and destination batches differ in length: %d != %d", src.length, dst.length));
+        }
+
+        BatchMapTask<S, D> task = new BatchMapTask<>(mapper, src, dst, 0, src.length, options.parallelThreshold());
+        if (src.length <= options.parallelThreshold()) {
+            task.compute();
+        } else {
+            options.poolOrCommon().invoke(task);
+        }
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= threshold) {
+            mapRange();
+            return;
+        }
+
+        int mid = (from + to) >>> 1;
+        invokeAll(new BatchMapTask<>(mapper, src, dst, from, mid, threshold),
+                new BatchMapTask<>(mapper, src, dst, mid, to, threshold));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mapRange() {
+        for (int i = from; i < to; i++) {
+            D d = dst[i];
+            if (d == null) {
+                dst[i] = mapper.map((S) src[i]);
+            } else {
+                mapper.map((S) src[i], d);
+            }
+        }
+    }
+}
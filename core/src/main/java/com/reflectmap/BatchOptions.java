@@ -0,0 +1,49 @@
+package com.reflectmap;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Controls how a batch passed to {@code mapAll} is split across threads.
+ *
+ * <p>A batch larger than {@code parallelThreshold} is split in halves on the pool until every part holds at most
+ * {@code parallelThreshold} elements, which are then mapped sequentially. Smaller batches are mapped entirely on the
+ * calling thread and never touch the pool.</p>
+ *
+ * @param pool              the pool to split large batches across, or null for the common pool
+ * @param parallelThreshold the largest number of elements mapped sequentially by a single task
+ */
+public record BatchOptions(ForkJoinPool pool, int parallelThreshold) {
+
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 4096;
+
+    /**
+     * Splits batches larger than {@link #DEFAULT_PARALLEL_THRESHOLD} across the common pool.
+     */
+    public static final BatchOptions DEFAULT = new BatchOptions(null, DEFAULT_PARALLEL_THRESHOLD);
+
+    /**
+     * Maps every batch on the calling thread.
+     */
+    public static final BatchOptions SEQUENTIAL = new BatchOptions(null, Integer.MAX_VALUE);
+
+    public BatchOptions {
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("parallelThreshold must be at least 1, was " + parallelThreshold);
+        }
+    }
+
+    /**
+     * Splits batches larger than {@link #DEFAULT_PARALLEL_THRESHOLD} across the given pool.
+     */
+    public static BatchOptions parallel(ForkJoinPool pool) {
+        return new BatchOptions(pool, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    public BatchOptions withParallelThreshold(int parallelThreshold) {
+        return new BatchOptions(pool, parallelThreshold);
+    }
+
+    ForkJoinPool poolOrCommon() {
+        return pool != null ? pool : ForkJoinPool.commonPool();
+    }
+}
@@ -0,0 +1,45 @@
+package com.reflectmap;
+
+import com.reflectmap.internal.jfr.MapEvent;
+import com.reflectmap.internal.jfr.MappingEvents;
+
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * A mapper bound to the compiled consumer of its pair. The consumer is deliberately an ordinary field, not a constant
+ * the JIT may fold: folding it pulls the whole composite consumer tree into the caller, where it exceeds the inlining
+ * limits, while the method handle behind it is customized and compiled once per pair on its own.
+ */
+final class CompiledMapper<S, D> extends AbstractMapper<S, D> {
+
+    private final BiConsumer<Object, Object> consumer;
+    private final Supplier<? extends D> dstSupplier;
+
+    CompiledMapper(BiConsumer<Object, Object> consumer, Class<S> srcType, Class<D> dstType, Supplier<? extends D> dstSupplier,
+                   String copyMode, int fieldCount) {
+        super(srcType, dstType, copyMode, fieldCount);
+        this.consumer = consumer;
+        this.dstSupplier = dstSupplier;
+    }
+
+    @Override
+    public void map(S src, D dst) {
+        MapEvent event = MappingEvents.sample();
+        consumer.accept(src, dst);
+        if (event != null) {
+            mapped(event);
+        }
+    }
+
+    @Override
+    public D map(S src) {
+        MapEvent event = MappingEvents.sample();
+        D dst = dstSupplier.get();
+        consumer.accept(src, dst);
+        if (event != null) {
+            mapped(event);
+        }
+        return dst;
+    }
+}
@@ -0,0 +1,36 @@
+package com.reflectmap;
+
+import com.reflectmap.internal.jfr.MapEvent;
+import com.reflectmap.internal.jfr.MappingEvents;
+
+import java.util.function.Function;
+
+/**
+ * A mapper that creates every destination object through a compiled constructor call, for copy modes that
+ * {@link CopyMode#constructs()}. Such destinations are usually immutable, so they cannot be mapped into.
+ */
+final class ConstructingMapper<S, D> extends AbstractMapper<S, D> {
+
+    private final Function<Object, Object> factory;
+
+    ConstructingMapper(Function<Object, Object> factory, Class<S> srcType, Class<D> dstType, String copyMode, int fieldCount) {
+        super(srcType, dstType, copyMode, fieldCount);
+        this.factory = factory;
+    }
+
+    @Override
+    public void map(S src, D dst) {
+        throw new UnsupportedOperationException("This mapper creates its destination objects and cannot map into an existing one");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public D map(S src) {
+        MapEvent event = MappingEvents.sample();
+        D dst = (D) factory.apply(src);
+        if (event != null) {
+            mapped(event);
+        }
+        return dst;
+    }
+}
@@ -1,31 +1,246 @@
 package com.reflectmap;
 
+import com.reflectmap.internal.compiler.ChangeMapper;
+import com.reflectmap.internal.compiler.Compiler;
 import com.reflectmap.internal.compiler.Compilers;
 import com.reflectmap.internal.CompiledLambdaStore;
+import com.reflectmap.internal.metrics.MappingMetrics;
 
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 public enum CopyMode {
     /**
-     * Attempt to copy by all available modes.
+     * Attempt to copy by all available modes, compiled into a single mapper. A destination field annotated by
+     * {@code FieldMapping} takes its value from the annotation, and any other field from the source field with the
+     * same name. Every destination field is written at most once.
      */
-    ALL(null),
+    ALL(Compilers.ALL, Compilers.CHANGES_ALL, Compilers.PROJECTED_ALL),
     /**
      * Attempt to copy only to fields annotated by {@code FieldMapping}.
      */
-    ANNOTATION_DRIVEN(new CompiledLambdaStore(Compilers.ANNOTATION_DRIVEN)),
+    ANNOTATION_DRIVEN(Compilers.ANNOTATION_DRIVEN, Compilers.CHANGES_ANNOTATION_DRIVEN, Compilers.PROJECTED_ANNOTATION_DRIVEN),
     /**
      * Attempt to copy only to fields with the same name in the source and destination class.
      */
-    DIRECT_COPY(new CompiledLambdaStore(Compilers.DIRECT_COPY));
+    DIRECT_COPY(Compilers.DIRECT_COPY, Compilers.CHANGES_DIRECT_COPY, Compilers.PROJECTED_DIRECT_COPY),
+    /**
+     * Same fields as {@link #ANNOTATION_DRIVEN}, compiled into a single generated class per type pair.
+     */
+    ANNOTATION_DRIVEN_HIDDEN_CLASS(Compilers.ANNOTATION_DRIVEN_HIDDEN_CLASS, Compilers.CHANGES_ANNOTATION_DRIVEN,
+            Compilers.PROJECTED_ANNOTATION_DRIVEN_HIDDEN_CLASS),
+    /**
+     * Same fields as {@link #DIRECT_COPY}, compiled into a single generated class per type pair.
+     */
+    DIRECT_COPY_HIDDEN_CLASS(Compilers.DIRECT_COPY_HIDDEN_CLASS, Compilers.CHANGES_DIRECT_COPY,
+            Compilers.PROJECTED_DIRECT_COPY_HIDDEN_CLASS),
+    /**
+     * Same fields as {@link #ANNOTATION_DRIVEN}, but a null source value leaves the destination field untouched, for
+     * PATCH-style merges onto an existing destination. Primitive source fields are always copied.
+     */
+    ANNOTATION_DRIVEN_NON_NULL(Compilers.ANNOTATION_DRIVEN_NON_NULL, Compilers.CHANGES_UNSUPPORTED,
+            Compilers.PROJECTED_ANNOTATION_DRIVEN_NON_NULL),
+    /**
+     * Same fields as {@link #DIRECT_COPY}, but a null source value leaves the destination field untouched, for
+     * PATCH-style merges onto an existing destination. Primitive source fields are always copied.
+     */
+    DIRECT_COPY_NON_NULL(Compilers.DIRECT_COPY_NON_NULL, Compilers.CHANGES_UNSUPPORTED, Compilers.PROJECTED_DIRECT_COPY_NON_NULL),
+    /**
+     * Create the destination through a single constructor call: the canonical constructor of a record, or the
+     * constructor annotated by {@code MappingConstructor}. Each parameter takes its value as the destination field of
+     * the same name would under {@link #ALL}. This allows mapping into records and classes with {@code final} fields,
+     * but not into an existing destination object.
+     */
+    CONSTRUCTOR(Compilers.CREATE_ONLY, Compilers.CHANGES_UNSUPPORTED, Compilers.PROJECTED_UNSUPPORTED, Compilers.CONSTRUCTOR),
+    /**
+     * Same fields as {@link #DIRECT_COPY}, but every referenced object is replaced by a copy of it, recursively, so the
+     * destination shares no mutable state with the source. Shared references and cycles are preserved in the copy.
+     * Referenced objects need a no-args constructor. Arrays, collections and maps are copied element by element. Enums
+     * and immutable JDK values, such as {@code String}, boxed primitives and {@code java.time} values, are shared; any
+     * other JDK type fails the copy rather than being shared.
+     */
+    DEEP_COPY(Compilers.DEEP_COPY, Compilers.CHANGES_UNSUPPORTED, Compilers.PROJECTED_UNSUPPORTED);
+
+    private static final String CHANGES_STORE = "changes";
+    private static final String GROUP_STORE_PREFIX = "group:";
+    private static final String FIELDS_STORE_PREFIX = "fields:";
+
+    final CompiledLambdaStore<BiConsumer<Object, Object>> store;
+    final CompiledLambdaStore<ChangeMapper> changeStore;
+    final CompiledLambdaStore<Function<Object, Object>> factoryStore;
+
+    /**
+     * One store per projection, each keyed by type pair like {@link #store}. Projections are few and long-lived, so
+     * they are held strongly.
+     */
+    private final Map<Projection, CompiledLambdaStore<BiConsumer<Object, Object>>> projectionStores = new ConcurrentHashMap<>();
+    private final BiFunction<String, Set<String>, Compiler<BiConsumer<Object, Object>>> projectionCompiler;
 
-    final CompiledLambdaStore store;
+    CopyMode(Compiler<BiConsumer<Object, Object>> compiler, Compiler<ChangeMapper> changeCompiler,
+             BiFunction<String, Set<String>, Compiler<BiConsumer<Object, Object>>> projectionCompiler) {
+        this(compiler, changeCompiler, projectionCompiler, null);
+    }
 
-    CopyMode(CompiledLambdaStore store) {
-        this.store = store;
+    CopyMode(Compiler<BiConsumer<Object, Object>> compiler, Compiler<ChangeMapper> changeCompiler,
+             BiFunction<String, Set<String>, Compiler<BiConsumer<Object, Object>>> projectionCompiler,
+             Compiler<Function<Object, Object>> factoryCompiler) {
+        if (MappingMetrics.ENABLED) {
+            compiler = MappingMetrics.consumers(name(), compiler);
+            changeCompiler = MappingMetrics.changes(name(), CHANGES_STORE, changeCompiler);
+            factoryCompiler = factoryCompiler != null ? MappingMetrics.factories(name(), factoryCompiler) : null;
+        }
+        this.store = new CompiledLambdaStore<>(name(), compiler);
+        this.changeStore = new CompiledLambdaStore<>(name(), CHANGES_STORE, changeCompiler);
+        this.projectionCompiler = projectionCompiler;
+        this.factoryStore = factoryCompiler != null ? new CompiledLambdaStore<>(name(), factoryCompiler) : null;
     }
 
+    /**
+     * The consumer for a single call, which may be interpreted while the pair compiles in the background.
+     */
     BiConsumer<Object, Object> get(Class<?> src, Class<?> dst) {
-        return store.get(src).get(dst);
+        return store.get(src, dst);
+    }
+
+    /**
+     * The compiled consumer, for callers that keep it.
+     */
+    BiConsumer<Object, Object> compiled(Class<?> src, Class<?> dst) {
+        return store.getCompiled(src, dst);
+    }
+
+    /**
+     * The consumer of the pair restricted to a projection, for a single call.
+     */
+    BiConsumer<Object, Object> get(Class<?> src, Class<?> dst, Projection projection) {
+        return projectionStore(projection).get(src, dst);
+    }
+
+    /**
+     * The compiled consumer of the pair restricted to a projection, for callers that keep it.
+     */
+    BiConsumer<Object, Object> compiled(Class<?> src, Class<?> dst, Projection projection) {
+        return projectionStore(projection).getCompiled(src, dst);
+    }
+
+    private CompiledLambdaStore<BiConsumer<Object, Object>> projectionStore(Projection projection) {
+        CompiledLambdaStore<BiConsumer<Object, Object>> projected = projectionStores.get(projection);
+        if (projected != null) {
+            return projected;
+        }
+        return projectionStores.computeIfAbsent(projection, key -> {
+            String storeName = storeName(key);
+            Compiler<BiConsumer<Object, Object>> compiler = projectionCompiler.apply(key.group(), key.fields());
+            if (MappingMetrics.ENABLED) {
+                compiler = MappingMetrics.consumers(name(), storeName, compiler);
+            }
+            return new CompiledLambdaStore<>(name(), storeName, compiler);
+        });
+    }
+
+    /**
+     * The archive name of a projection store: {@code group:<name>}, or {@code fields:<names>} with the names sorted
+     * and separated by commas.
+     */
+    private static String storeName(Projection projection) {
+        if (projection.group() != null) {
+            return GROUP_STORE_PREFIX + projection.group();
+        }
+        return FIELDS_STORE_PREFIX + String.join(",", new TreeSet<>(projection.fields()));
+    }
+
+    /**
+     * The name events report for a store other than the main one: the mode's name followed by the store name in
+     * brackets, such as {@code ANNOTATION_DRIVEN[changes]}.
+     */
+    String label(Projection projection) {
+        return label(storeName(projection));
+    }
+
+    String changesLabel() {
+        return label(CHANGES_STORE);
+    }
+
+    private String label(String store) {
+        return name() + "[" + store + "]";
+    }
+
+    /**
+     * The compiled compare-then-write mapper of the pair.
+     */
+    ChangeMapper changes(Class<?> src, Class<?> dst) {
+        return changeStore.getCompiled(src, dst);
+    }
+
+    /**
+     * The number of fields the pair's current mapping writes, or zero before it is resolved.
+     */
+    int fieldCount(Class<?> src, Class<?> dst) {
+        return constructs() ? factoryStore.fieldCount(src, dst) : store.fieldCount(src, dst);
+    }
+
+    /**
+     * The number of fields the pair's mapping restricted to a projection writes, or zero before it is resolved.
+     */
+    int fieldCount(Class<?> src, Class<?> dst, Projection projection) {
+        return projectionStore(projection).fieldCount(src, dst);
+    }
+
+    /**
+     * The number of fields the pair's change mapper compares, or zero before it is resolved.
+     */
+    int changeFieldCount(Class<?> src, Class<?> dst) {
+        return changeStore.fieldCount(src, dst);
+    }
+
+    /**
+     * Whether this mode creates its destination objects, rather than mapping into existing ones.
+     */
+    boolean constructs() {
+        return factoryStore != null;
+    }
+
+    /**
+     * The compiled function that creates a destination object from a source object. Only for modes that
+     * {@link #constructs()}.
+     */
+    Function<Object, Object> factory(Class<?> src, Class<?> dst) {
+        return factoryStore.getCompiled(src, dst);
+    }
+
+    /**
+     * Compiles the type pair the way this mode maps it.
+     */
+    void compile(Class<?> src, Class<?> dst) {
+        if (constructs()) {
+            factory(src, dst);
+        } else {
+            compiled(src, dst);
+        }
+    }
+
+    /**
+     * Compiles the type pair into the store a mapper archive recorded it from: the main store if the store is null,
+     * otherwise the change store or a projection store.
+     *
+     * @throws IllegalArgumentException if the store name is not one this mode writes.
+     */
+    void compile(Class<?> src, Class<?> dst, String store) {
+        if (store == null) {
+            compile(src, dst);
+        } else if (store.equals(CHANGES_STORE)) {
+            changes(src, dst);
+        } else if (store.startsWith(GROUP_STORE_PREFIX)) {
+            compiled(src, dst, Projection.ofGroup(store.substring(GROUP_STORE_PREFIX.length())));
+        } else if (store.startsWith(FIELDS_STORE_PREFIX)) {
+            compiled(src, dst, Projection.ofFields(store.substring(FIELDS_STORE_PREFIX.length()).split(",")));
+        } else {
+            throw new IllegalArgumentException("Unknown store " + store + " of " + this);
+        }
     }
 }
@@ -0,0 +1,85 @@
+package com.reflectmap;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+
+/**
+ * A mapper resolved once for a single source and destination type pair.
+ *
+ * <p>Mappers are immutable and thread-safe. Reusing one skips the per-call type pair lookup performed by
+ * {@link ReflectMap#map(Object, Class, Object, Class, CopyMode)}. The compiled copy is not inlined into the caller:
+ * it stays a separately compiled method handle per pair, which keeps large mappers within the JIT's inlining
+ * limits.</p>
+ *
+ * @param <S> the source type
+ * @param <D> the destination type
+ * @see ReflectMap#mapper(Class, Class, CopyMode)
+ */
+public interface Mapper<S, D> {
+
+    /**
+     * Copies values from the source object to an existing destination object. Creates zero garbage.
+     */
+    void map(S src, D dst);
+
+    /**
+     * Copies values from the source object to a newly created destination object. Destination objects come from the
+     * supplier the mapper was resolved with, or the destination type's no-args constructor by default.
+     */
+    D map(S src);
+
+    /**
+     * Maps every source element into a newly created destination object, splitting large batches according to the
+     * given options. The returned list is fixed-size and in the same order as the source list.
+     */
+    List<D> mapAll(List<? extends S> src, BatchOptions options);
+
+    /**
+     * Maps every source element into a newly created destination object, splitting large batches according to the
+     * given options.
+     */
+    D[] mapAll(S[] src, BatchOptions options);
+
+    /**
+     * Maps {@code src[i]} into {@code dst[i]} for every index, splitting large batches according to the given options.
+     * Null destination elements are created first. Both arrays must have the same length.
+     */
+    void mapAll(S[] src, D[] dst, BatchOptions options);
+
+    /**
+     * Lazily maps every element of the source spliterator into a newly created destination object. The result splits
+     * wherever the source splits and keeps its {@code SIZED} and {@code SUBSIZED} characteristics, so parallel streams
+     * built on it divide work cleanly.
+     */
+    Spliterator<D> spliterator(Spliterator<? extends S> src);
+
+    /**
+     * Lazily maps every element of the source stream into a newly created destination object.
+     * The result is parallel if the source stream is, and closing it closes the source stream.
+     * @see #spliterator(Spliterator)
+     */
+    Stream<D> mapAll(Stream<? extends S> src);
+
+    /**
+     * Same as {@link #mapAll(List, BatchOptions)} with {@link BatchOptions#DEFAULT}.
+     */
+    default List<D> mapAll(List<? extends S> src) {
+        return mapAll(src, BatchOptions.DEFAULT);
+    }
+
+    /**
+     * Same as {@link #mapAll(Object[], BatchOptions)} with {@link BatchOptions#DEFAULT}.
+     */
+    default D[] mapAll(S[] src) {
+        return mapAll(src, BatchOptions.DEFAULT);
+    }
+
+    /**
+     * Same as {@link #mapAll(Object[], Object[], BatchOptions)} with {@link BatchOptions#DEFAULT}.
+     */
+    default void mapAll(S[] src, D[] dst) {
+        mapAll(src, dst, BatchOptions.DEFAULT);
+    }
+
+}
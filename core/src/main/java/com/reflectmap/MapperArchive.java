@@ -0,0 +1,90 @@
+package com.reflectmap;
+
+import com.reflectmap.internal.CompilationRecorder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records which mappers a training run compiles, and precompiles them at the start of later runs.
+ *
+ * <p>A training run is enabled by starting the JVM with {@code -Dreflectmap.archive.record=<file>}. Every type pair
+ * compiled during the run is then written to that file at shutdown. Alternatively, call {@link #startRecording()} and
+ * {@link #write(Path)} explicitly. Projection and change mappers are recorded with the store they belong to, and are
+ * compiled back into it.</p>
+ *
+ * <p>At startup, call {@link #load(Path)} before taking traffic to compile every recorded mapper up front. To also
+ * archive the classes involved, combine both runs with AppCDS: train with
+ * {@code -XX:ArchiveClassesAtExit=app.jsa} and start with {@code -XX:SharedArchiveFile=app.jsa}. Mapped types and
+ * mappers generated by {@code reflectmap-processor} are regular classes and are archived. Mappers compiled at runtime
+ * are hidden classes, which the JVM recompiles on each start.</p>
+ */
+public final class MapperArchive {
+
+    /**
+     * When set to a file path, recording starts with the JVM and the archive is written to that path at shutdown.
+     */
+    public static final String RECORD_PROPERTY = CompilationRecorder.RECORD_PROPERTY;
+
+    private MapperArchive() {}
+
+    /**
+     * Starts recording every mapper compiled from now on. Mappers compiled earlier are not recorded.
+     */
+    public static void startRecording() {
+        CompilationRecorder.start();
+    }
+
+    /**
+     * Stops recording and discards everything recorded so far.
+     */
+    public static void stopRecording() {
+        CompilationRecorder.stop();
+    }
+
+    /**
+     * Writes every mapper recorded so far to the given file, one per line, in compilation order.
+     */
+    public static void write(Path file) throws IOException {
+        CompilationRecorder.write(file);
+    }
+
+    /**
+     * Compiles every mapper listed in the archive, loading types through the context class loader.
+     * For full behavior details, see {@link #load(Path, ClassLoader)}.
+     * @see #load(Path, ClassLoader)
+     */
+    public static List<String> load(Path file) throws IOException {
+        return load(file, Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * Compiles every mapper listed in the archive. Entries which no longer resolve, because a type was removed or
+     * a mapping no longer compiles, are skipped rather than failing startup.
+     *
+     * @return the archive lines which could not be compiled
+     */
+    public static List<String> load(Path file, ClassLoader loader) throws IOException {
+        List<String> failures = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            String[] parts = line.split("\\s+", 4);
+            try {
+                CopyMode copyMode = CopyMode.valueOf(parts[0]);
+                Class<?> srcType = Class.forName(parts[1], false, loader);
+                Class<?> dstType = Class.forName(parts[2], false, loader);
+                copyMode.compile(srcType, dstType, parts.length > 3 ? parts[3] : null);
+            } catch (RuntimeException | ClassNotFoundException | LinkageError e) {
+                failures.add(line);
+            }
+        }
+        return failures;
+    }
+}
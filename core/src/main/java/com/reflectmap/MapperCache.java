@@ -0,0 +1,80 @@
+package com.reflectmap;
+
+import com.reflectmap.internal.ResidentPair;
+import com.reflectmap.internal.ResidentPairs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inspects and trims the mappers ReflectMap holds for every copy mode and type pair.
+ *
+ * <p>Mappers are held by their destination class, so a pair whose types all belong to an unloaded class loader is
+ * released with it. To cap memory in a long-running host, start the JVM with {@code -Dreflectmap.store.maxPairs=N}:
+ * past N pairs, the least recently used pairs are evicted, and compiled again if they are used later. Hosts can also
+ * evict the pairs of a plugin with {@link #evict(ClassLoader)} before unloading it. Mappers returned by
+ * {@code ReflectMap.mapper} stay valid after eviction, and keep what they retain.</p>
+ */
+public final class MapperCache {
+
+    public static final String MAX_PAIRS_PROPERTY = ResidentPairs.MAX_PAIRS_PROPERTY;
+
+    private MapperCache() {}
+
+    /**
+     * The maximum number of pairs held at once, or zero if unbounded.
+     */
+    public static int maxPairs() {
+        return ResidentPairs.MAX_PAIRS;
+    }
+
+    /**
+     * The estimated footprint of every pair currently held, in the order the pairs were first resolved.
+     */
+    public static List<Footprint> footprint() {
+        List<Footprint> footprint = new ArrayList<>();
+        for (ResidentPair pair : ResidentPairs.pairs()) {
+            footprint.add(new Footprint(CopyMode.valueOf(pair.copyMode()), TypePair.of(pair.srcType(), pair.dstType()),
+                    pair.lambdas(), pair.classes(), pair.estimatedBytes()));
+        }
+        return footprint;
+    }
+
+    /**
+     * The estimated bytes retained by every pair currently held.
+     */
+    public static long estimatedBytes() {
+        long bytes = 0;
+        for (ResidentPair pair : ResidentPairs.pairs()) {
+            bytes += pair.estimatedBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Evicts every pair whose source or destination type was loaded by the class loader.
+     *
+     * @return the number of pairs evicted
+     */
+    public static int evict(ClassLoader loader) {
+        return ResidentPairs.evict(loader);
+    }
+
+    /**
+     * Evicts every pair. Pairs are compiled again on their next use.
+     *
+     * @return the number of pairs evicted
+     */
+    public static int evictAll() {
+        return ResidentPairs.evictAll();
+    }
+
+    /**
+     * What the mapper of a pair retains.
+     *
+     * @param lambdas        the lambda instances created for the pair, which share classes spun once per factory
+     * @param classes        the classes defined for the pair, such as the hidden class of a hidden class copy mode
+     * @param estimatedBytes a rough estimate of the heap and metaspace retained by the pair's mapper
+     */
+    public record Footprint(CopyMode copyMode, TypePair pair, int lambdas, int classes, long estimatedBytes) {}
+}
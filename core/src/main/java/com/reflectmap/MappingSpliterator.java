@@ -0,0 +1,45 @@
+package com.reflectmap;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Maps each element of a source spliterator as it is traversed. Splitting delegates to the source, and the
+ * characteristics are the source's, minus {@code SORTED} and {@code DISTINCT}, which mapped objects do not inherit.
+ */
+final class MappingSpliterator<S, D> implements Spliterator<D> {
+
+    private final Spliterator<? extends S> source;
+    private final Mapper<S, D> mapper;
+
+    MappingSpliterator(Spliterator<? extends S> source, Mapper<S, D> mapper) {
+        this.source = source;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super D> action) {
+        return source.tryAdvance(src -> action.accept(mapper.map(src)));
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super D> action) {
+        source.forEachRemaining(src -> action.accept(mapper.map(src)));
+    }
+
+    @Override
+    public Spliterator<D> trySplit() {
+        Spliterator<? extends S> split = source.trySplit();
+        return split != null ? new MappingSpliterator<>(split, mapper) : null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return source.characteristics() & ~(SORTED | DISTINCT);
+    }
+}
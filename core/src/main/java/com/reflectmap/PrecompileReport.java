@@ -0,0 +1,52 @@
+package com.reflectmap;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The outcome of {@link ReflectMap#precompile(CopyMode, java.util.Collection, java.util.concurrent.Executor)}: every
+ * pair that was compiled, with the time its compilation took, and every pair that could not be.
+ *
+ * @param copyMode the mode the pairs were compiled for
+ * @param compiled the pairs whose mapper is now ready, in the order they were requested
+ * @param failures the pairs which failed to compile, in the order they were requested
+ * @param elapsed  the wall-clock time of the whole precompilation, including classpath scanning
+ */
+public record PrecompileReport(CopyMode copyMode, List<Compiled> compiled, List<Failure> failures, Duration elapsed) {
+
+    public PrecompileReport {
+        compiled = List.copyOf(compiled);
+        failures = List.copyOf(failures);
+    }
+
+    /**
+     * Whether every pair compiled, so no mapper of this mode for these pairs is compiled on the request path.
+     */
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * The summed compilation time of every pair. Larger than {@link #elapsed()} when pairs compiled in parallel.
+     */
+    public Duration compileTime() {
+        Duration total = Duration.ZERO;
+        for (Compiled entry : compiled) {
+            total = total.plus(entry.time());
+        }
+        for (Failure entry : failures) {
+            total = total.plus(entry.time());
+        }
+        return total;
+    }
+
+    /**
+     * A pair that compiled. A pair compiled before the precompilation reports the time of the lookup alone.
+     */
+    public record Compiled(TypePair pair, Duration time) {}
+
+    /**
+     * A pair that did not compile, with the exception the same mapping would have thrown on first use.
+     */
+    public record Failure(TypePair pair, Throwable cause, Duration time) {}
+}
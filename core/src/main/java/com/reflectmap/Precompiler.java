@@ -0,0 +1,50 @@
+package com.reflectmap;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Compiles a set of type pairs on an executor, one task per pair, and waits for all of them.
+ *
+ * <p>The compiled mappers land in the same stores {@link ReflectMap#map} reads from, so later calls for these pairs
+ * find them already compiled. A failing pair is reported rather than thrown, and does not stop the others.</p>
+ */
+final class Precompiler {
+
+    private Precompiler() {}
+
+    static PrecompileReport run(CopyMode copyMode, Collection<TypePair> pairs, Executor executor, long startNanos) {
+        List<CompletableFuture<Object>> futures = new ArrayList<>(pairs.size());
+        for (TypePair pair : pairs) {
+            futures.add(CompletableFuture.supplyAsync(() -> compile(copyMode, pair), executor));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        List<PrecompileReport.Compiled> compiled = new ArrayList<>();
+        List<PrecompileReport.Failure> failures = new ArrayList<>();
+        for (CompletableFuture<Object> future : futures) {
+            Object result = future.join();
+            if (result instanceof PrecompileReport.Compiled entry) {
+                compiled.add(entry);
+            } else {
+                failures.add((PrecompileReport.Failure) result);
+            }
+        }
+
+        return new PrecompileReport(copyMode, compiled, failures, Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    private static Object compile(CopyMode copyMode, TypePair pair) {
+        long start = System.nanoTime();
+        try {
+            copyMode.compile(pair.srcType(), pair.dstType());
+            return new PrecompileReport.Compiled(pair, Duration.ofNanos(System.nanoTime() - start));
+        } catch (RuntimeException | LinkageError e) {
+            return new PrecompileReport.Failure(pair, e, Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.reflectmap;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A named subset of the destination fields of a type pair. A mapper compiled for a projection reads and writes only
+ * the fields in it, and is cached apart from the full mapper of the pair, keyed by (srcType, dstType, projection).
+ *
+ * <p>A projection either lists destination field names, or names a group declared through
+ * {@code FieldMapping.groups()}. A group only selects annotated fields.</p>
+ *
+ * @param group The group name, or null for a projection by field names.
+ * @param fields The destination field names, empty for a projection by group.
+ */
+public record Projection(String group, Set<String> fields) {
+
+    public Projection {
+        fields = fields != null ? Set.copyOf(fields) : Set.of();
+        if ((group == null) == fields.isEmpty()) {
+            throw new IllegalArgumentException("A projection takes either a group or at least one field name");
+        }
+    }
+
+    /**
+     * The destination fields with the given names. Inherited fields are selected by name as well. A name that is not
+     * a field of the destination type fails the mapper with a {@code FieldNotFoundException}.
+     */
+    public static Projection ofFields(String... names) {
+        return new Projection(null, Set.of(names));
+    }
+
+    /**
+     * The destination fields whose {@code FieldMapping} lists the given group.
+     */
+    public static Projection ofGroup(String name) {
+        return new Projection(Objects.requireNonNull(name, "name"), Set.of());
+    }
+
+    @Override
+    public String toString() {
+        if (group != null) {
+            return "group " + group;
+        }
+        String[] names = fields.toArray(String[]::new);
+        Arrays.sort(names);
+        return "fields " + String.join(", ", names);
+    }
+}
@@ -1,6 +1,26 @@
 package com.reflectmap;
 
-import java.lang.reflect.InvocationTargetException;
+import com.reflectmap.exception.ReflectMapException;
+import com.reflectmap.internal.CompiledConstructorStore;
+import com.reflectmap.internal.converter.ConverterRegistry;
+import com.reflectmap.internal.jfr.MapEvent;
+import com.reflectmap.internal.jfr.MappingEvents;
+import com.reflectmap.internal.metadata.ClassMetadata;
+import com.reflectmap.internal.metadata.FieldMappingMetadata;
+import com.reflectmap.internal.metadata.FieldMetadata;
+import com.reflectmap.internal.util.ClasspathScanner;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public final class ReflectMap {
 
@@ -13,7 +33,11 @@ public final class ReflectMap {
      * Allocates a small amount of memory per srcType -> dstType pair.
      */
     public static void map(Object src, Class<?> srcType, Object dst, Class<?> dstType, CopyMode copyMode) {
+        MapEvent event = MappingEvents.sample();
         copyMode.get(srcType, dstType).accept(src, dst);
+        if (event != null) {
+            MappingEvents.mapped(event, copyMode.name(), srcType, dstType, copyMode.fieldCount(srcType, dstType));
+        }
     }
 
     /**
@@ -31,14 +55,14 @@ public final class ReflectMap {
      * @see #map(Object, Class, Object, Class)
      * @see #map(Object, Class, Object, Class, CopyMode)
      */
+    @SuppressWarnings("unchecked")
     public static <S, D> D map(S src, Class<D> dstType, CopyMode copyMode) {
-        D dst;
-        try {
-            dst = dstType.getDeclaredConstructor().newInstance();
-            map(src, src.getClass(), dst, dstType, copyMode);
-        } catch (InvocationTargetException | InstantiationException | IllegalAccessException | NoSuchMethodException e) {
-            throw new RuntimeException(e);
+        if (copyMode.constructs()) {
+            return (D) copyMode.factory(src.getClass(), dstType).apply(src);
         }
+
+        D dst = newInstance(dstType);
+        map(src, src.getClass(), dst, dstType, copyMode);
         return dst;
     }
 
@@ -48,13 +72,280 @@ public final class ReflectMap {
      * @see #map(Object, Class, CopyMode)
      */
     public static <S, D> D map(S src, Class<D> dstType) {
-        D dst;
+        D dst = newInstance(dstType);
+        map(src, src.getClass(), dst, dstType);
+        return dst;
+    }
+
+    /**
+     * Copies only the destination fields in the projection, through a mapper compiled and cached for that projection
+     * alone. For full behavior details, see {@link #map(Object, Class, Object, Class, CopyMode)}.
+     * @see Projection
+     */
+    public static void map(Object src, Class<?> srcType, Object dst, Class<?> dstType, CopyMode copyMode, Projection projection) {
+        MapEvent event = MappingEvents.sample();
+        copyMode.get(srcType, dstType, projection).accept(src, dst);
+        if (event != null) {
+            MappingEvents.mapped(event, copyMode.label(projection), srcType, dstType, copyMode.fieldCount(srcType, dstType, projection));
+        }
+    }
+
+    /**
+     * Copies values from one object to another, like {@link #map(Object, Class, Object, Class, CopyMode)}, but only
+     * writes a destination field when its current value differs from the source value: by value for primitives, and
+     * by identity for references. Floating point values compare by their bits.
+     *
+     * @return A mask of the destination fields written, where bit {@code i} stands for
+     *         {@code changeMaskFields(srcType, dstType, copyMode).get(i)}.
+     * @throws ReflectMapException if the pair maps more than 64 fields, which only
+     *         {@link #mapChangeSet(Object, Class, Object, Class, CopyMode)} can report, or if the copy mode creates its
+     *         destinations or deep copies them.
+     */
+    public static long mapChanges(Object src, Class<?> srcType, Object dst, Class<?> dstType, CopyMode copyMode) {
+        MapEvent event = MappingEvents.sample();
+        long changes = copyMode.changes(srcType, dstType).changes(src, dst);
+        if (event != null) {
+            MappingEvents.mapped(event, copyMode.changesLabel(), srcType, dstType, copyMode.changeFieldCount(srcType, dstType));
+        }
+        return changes;
+    }
+
+    /**
+     * Copies values from one object to another, only writing the destination fields that changed.
+     * For full behavior details, see {@link #mapChanges(Object, Class, Object, Class, CopyMode)}.
+     *
+     * @return The set of the destination fields written, for pairs of any size.
+     */
+    public static BitSet mapChangeSet(Object src, Class<?> srcType, Object dst, Class<?> dstType, CopyMode copyMode) {
+        MapEvent event = MappingEvents.sample();
+        BitSet changes = copyMode.changes(srcType, dstType).changeSet(src, dst);
+        if (event != null) {
+            MappingEvents.mapped(event, copyMode.changesLabel(), srcType, dstType, copyMode.changeFieldCount(srcType, dstType));
+        }
+        return changes;
+    }
+
+    /**
+     * The dotted destination path of every field {@link #mapChanges(Object, Class, Object, Class, CopyMode)} may
+     * report, in bit order.
+     */
+    public static List<String> changeMaskFields(Class<?> srcType, Class<?> dstType, CopyMode copyMode) {
+        return copyMode.changes(srcType, dstType).fields();
+    }
+
+    /**
+     * Resolves a reusable mapper for a single type pair. All compilation happens here, so the returned mapper skips
+     * the type pair lookup on every call. Store it in a {@code static final} field for the best performance.
+     * @see Mapper
+     */
+    public static <S, D> Mapper<S, D> mapper(Class<S> srcType, Class<D> dstType, CopyMode copyMode) {
+        if (copyMode.constructs()) {
+            return new ConstructingMapper<>(copyMode.factory(srcType, dstType), srcType, dstType, copyMode.name(),
+                    copyMode.fieldCount(srcType, dstType));
+        }
+        return mapper(srcType, dstType, copyMode, constructor(dstType));
+    }
+
+    /**
+     * Resolves a reusable mapper for a single type pair, which takes new destination objects from the given supplier.
+     * The supplier may hand out pooled objects. For full behavior details, see {@link #mapper(Class, Class, CopyMode)}.
+     * Copy modes that create their destination objects, such as {@link CopyMode#CONSTRUCTOR}, take no supplier.
+     * @see #mapper(Class, Class, CopyMode)
+     */
+    public static <S, D> Mapper<S, D> mapper(Class<S> srcType, Class<D> dstType, CopyMode copyMode, Supplier<? extends D> dstSupplier) {
+        if (copyMode.constructs()) {
+            throw new IllegalArgumentException(copyMode + " creates its destination objects and takes no supplier");
+        }
+        return new CompiledMapper<>(copyMode.compiled(srcType, dstType), srcType, dstType, dstSupplier, copyMode.name(),
+                copyMode.fieldCount(srcType, dstType));
+    }
+
+    /**
+     * Resolves a reusable mapper for a single type pair, which copies only the destination fields in the projection.
+     * For full behavior details, see {@link #mapper(Class, Class, CopyMode)}.
+     * @see Projection
+     */
+    public static <S, D> Mapper<S, D> mapper(Class<S> srcType, Class<D> dstType, CopyMode copyMode, Projection projection) {
+        return new CompiledMapper<>(copyMode.compiled(srcType, dstType, projection), srcType, dstType, constructor(dstType),
+                copyMode.label(projection), copyMode.fieldCount(srcType, dstType, projection));
+    }
+
+    /**
+     * Resolves a reusable mapper for a single type pair.
+     * For full behavior details, see {@link #mapper(Class, Class, CopyMode)}.
+     * @see #mapper(Class, Class, CopyMode)
+     */
+    public static <S, D> Mapper<S, D> mapper(Class<S> srcType, Class<D> dstType) {
+        return mapper(srcType, dstType, DEFAULT_COPY_MODE);
+    }
+
+    /**
+     * Resolves a mapping function for a single type pair, intended for {@code Stream.map}. The compiled mapper and the
+     * destination constructor are both resolved once, rather than for every element.
+     * @see #mapper(Class, Class, CopyMode)
+     */
+    public static <S, D> Function<S, D> mapping(Class<S> srcType, Class<D> dstType, CopyMode copyMode) {
+        return mapper(srcType, dstType, copyMode)::map;
+    }
+
+    /**
+     * Resolves a mapping function for a single type pair.
+     * For full behavior details, see {@link #mapping(Class, Class, CopyMode)}.
+     * @see #mapping(Class, Class, CopyMode)
+     */
+    public static <S, D> Function<S, D> mapping(Class<S> srcType, Class<D> dstType) {
+        return mapping(srcType, dstType, DEFAULT_COPY_MODE);
+    }
+
+    /**
+     * Resolves a mapping function for a single type pair, which maps into destination objects taken from the given
+     * supplier, such as a pool. For full behavior details, see {@link #mapping(Class, Class, CopyMode)}.
+     * @see #mapping(Class, Class, CopyMode)
+     */
+    public static <S, D> Function<S, D> mapping(Class<S> srcType, Class<D> dstType, CopyMode copyMode, Supplier<? extends D> dstSupplier) {
+        return mapper(srcType, dstType, copyMode, dstSupplier)::map;
+    }
+
+    /**
+     * Maps every source element into a newly created destination object. The type pair is resolved once for the
+     * whole batch, and batches larger than the options' threshold are split across a {@code ForkJoinPool}.
+     * @see Mapper#mapAll(List, BatchOptions)
+     */
+    public static <S, D> List<D> mapAll(List<? extends S> src, Class<S> srcType, Class<D> dstType, CopyMode copyMode, BatchOptions options) {
+        return mapper(srcType, dstType, copyMode).mapAll(src, options);
+    }
+
+    /**
+     * Maps every source element into a newly created destination object.
+     * For full behavior details, see {@link #mapAll(List, Class, Class, CopyMode, BatchOptions)}.
+     * @see #mapAll(List, Class, Class, CopyMode, BatchOptions)
+     */
+    public static <S, D> List<D> mapAll(List<? extends S> src, Class<S> srcType, Class<D> dstType) {
+        return mapAll(src, srcType, dstType, DEFAULT_COPY_MODE, BatchOptions.DEFAULT);
+    }
+
+    /**
+     * Maps every source element into a newly created destination object.
+     * For full behavior details, see {@link #mapAll(List, Class, Class, CopyMode, BatchOptions)}.
+     * @see Mapper#mapAll(Object[], BatchOptions)
+     */
+    public static <S, D> D[] mapAll(S[] src, Class<S> srcType, Class<D> dstType, CopyMode copyMode, BatchOptions options) {
+        return mapper(srcType, dstType, copyMode).mapAll(src, options);
+    }
+
+    /**
+     * Maps every source element into a newly created destination object.
+     * For full behavior details, see {@link #mapAll(Object[], Class, Class, CopyMode, BatchOptions)}.
+     * @see #mapAll(Object[], Class, Class, CopyMode, BatchOptions)
+     */
+    public static <S, D> D[] mapAll(S[] src, Class<S> srcType, Class<D> dstType) {
+        return mapAll(src, srcType, dstType, DEFAULT_COPY_MODE, BatchOptions.DEFAULT);
+    }
+
+    /**
+     * Maps {@code src[i]} into the pre-allocated {@code dst[i]} for every index. Null destination elements are created.
+     * For full behavior details, see {@link #mapAll(List, Class, Class, CopyMode, BatchOptions)}.
+     * @see Mapper#mapAll(Object[], Object[], BatchOptions)
+     */
+    public static <S, D> void mapAll(S[] src, Class<S> srcType, D[] dst, Class<D> dstType, CopyMode copyMode, BatchOptions options) {
+        mapper(srcType, dstType, copyMode).mapAll(src, dst, options);
+    }
+
+    /**
+     * Maps {@code src[i]} into the pre-allocated {@code dst[i]} for every index.
+     * For full behavior details, see {@link #mapAll(Object[], Class, Object[], Class, CopyMode, BatchOptions)}.
+     * @see #mapAll(Object[], Class, Object[], Class, CopyMode, BatchOptions)
+     */
+    public static <S, D> void mapAll(S[] src, Class<S> srcType, D[] dst, Class<D> dstType) {
+        mapAll(src, srcType, dst, dstType, DEFAULT_COPY_MODE, BatchOptions.DEFAULT);
+    }
+
+    /**
+     * Registers a converter for destination fields whose type is not compatible with the source field, replacing any
+     * built-in or previously registered converter for the same pair of types. The converter is compiled into every
+     * mapper resolved after the registration, so register converters at startup.
+     */
+    public static <A, B> void registerConverter(Class<A> from, Class<B> to, Function<? super A, ? extends B> converter) {
+        ConverterRegistry.register(from, to, converter);
+    }
+
+    /**
+     * Compiles the mapper of every pair up front, in parallel on the executor, so no request pays for compilation.
+     * Failures are reported rather than thrown; a failed pair throws the same exception again when it is first used.
+     *
+     * @return a report of the compiled and failed pairs, once every pair has finished
+     */
+    public static PrecompileReport precompile(CopyMode copyMode, Collection<TypePair> pairs, Executor executor) {
+        return Precompiler.run(copyMode, pairs, executor, System.nanoTime());
+    }
+
+    /**
+     * Compiles the mapper of every pair up front, in parallel on the common pool.
+     * For full behavior details, see {@link #precompile(CopyMode, Collection, Executor)}.
+     * @see #precompile(CopyMode, Collection, Executor)
+     */
+    public static PrecompileReport precompile(CopyMode copyMode, Collection<TypePair> pairs) {
+        return precompile(copyMode, pairs, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Scans the package and its subpackages for classes with {@code FieldMapping} fields, and compiles a mapper from
+     * every {@code srcType} they name to the class. The classes are loaded from local directories and jar files
+     * through the given class loader, without being initialized. Abstract classes are skipped, and so are classes whose
+     * fields cannot be resolved, for example because the type of one of them is missing from the class path.
+     * For full behavior details, see {@link #precompile(CopyMode, Collection, Executor)}.
+     * @throws IllegalArgumentException if the package prefix is blank, since the root package is not scanned
+     */
+    public static PrecompileReport precompile(CopyMode copyMode, String packagePrefix, ClassLoader loader, Executor executor) throws IOException {
+        long start = System.nanoTime();
+        Set<TypePair> pairs = new LinkedHashSet<>();
+        for (Class<?> dstType : ClasspathScanner.scan(packagePrefix, loader)) {
+            if (dstType.isInterface() || Modifier.isAbstract(dstType.getModifiers()) || dstType.isAnonymousClass() || dstType.isLocalClass()) {
+                continue;
+            }
+            List<FieldMetadata> dstFields;
+            try {
+                dstFields = ClassMetadata.of(dstType).fields();
+            } catch (LinkageError e) {
+                // Loadable, but its fields are not, so it can never be mapped either.
+                continue;
+            }
+            for (FieldMetadata dstField : dstFields) {
+                for (FieldMappingMetadata mapping : dstField.mappings()) {
+                    pairs.add(TypePair.of(mapping.srcType(), dstType));
+                }
+            }
+        }
+        return Precompiler.run(copyMode, pairs, executor, start);
+    }
+
+    /**
+     * Scans the package for {@code FieldMapping} pairs through the context class loader, and compiles them for the
+     * default copy mode on the common pool.
+     * For full behavior details, see {@link #precompile(CopyMode, String, ClassLoader, Executor)}.
+     * @see #precompile(CopyMode, String, ClassLoader, Executor)
+     */
+    public static PrecompileReport precompile(String packagePrefix) throws IOException {
+        return precompile(DEFAULT_COPY_MODE, packagePrefix, Thread.currentThread().getContextClassLoader(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Resolves the compiled no-args constructor of the destination type. Types without one only fail when the
+     * supplier is used, so mappers that never create destination objects can still be resolved.
+     */
+    @SuppressWarnings("unchecked")
+    static <D> Supplier<D> constructor(Class<D> dstType) {
         try {
-            dst = dstType.getDeclaredConstructor().newInstance();
-            map(src, src.getClass(), dst, dstType);
-        } catch (InvocationTargetException | InstantiationException | IllegalAccessException | NoSuchMethodException e) {
-            throw new RuntimeException(e);
+            return (Supplier<D>) CompiledConstructorStore.INSTANCE.get(dstType);
+        } catch (ReflectMapException e) {
+            return () -> {
+                throw e;
+            };
         }
-        return dst;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <D> D newInstance(Class<D> dstType) {
+        return (D) CompiledConstructorStore.INSTANCE.get(dstType).get();
     }
 }
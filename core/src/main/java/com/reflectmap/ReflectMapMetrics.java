@@ -0,0 +1,54 @@
+package com.reflectmap;
+
+import com.reflectmap.internal.metrics.MappingMetrics;
+import com.reflectmap.internal.metrics.PairCounters;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compilation and invocation counters per copy mode and type pair, for monitoring ReflectMap in production.
+ *
+ * <p>Metrics are disabled unless the JVM is started with {@code -Dreflectmap.metrics=true}. When disabled, nothing is
+ * counted and mappers run without any metrics code. When enabled, the same counters are also published over JMX as
+ * {@code com.reflectmap:type=MappingMetrics}.</p>
+ */
+public final class ReflectMapMetrics {
+
+    public static final String PROPERTY = MappingMetrics.PROPERTY;
+
+    private ReflectMapMetrics() {}
+
+    public static boolean isEnabled() {
+        return MappingMetrics.ENABLED;
+    }
+
+    /**
+     * A snapshot of the counters of every pair resolved so far. Empty when metrics are disabled.
+     */
+    public static List<PairMetrics> pairs() {
+        List<PairMetrics> pairs = new ArrayList<>();
+        for (PairCounters counters : MappingMetrics.pairs()) {
+            pairs.add(new PairMetrics(CopyMode.valueOf(counters.copyMode()), counters.store(),
+                    TypePair.of(counters.srcType(), counters.dstType()), counters.compilations(), Duration.ofNanos(counters.compileNanos()), counters.fieldsMapped(),
+                    counters.failures(), counters.invocations()));
+        }
+        return pairs;
+    }
+
+    /**
+     * The counters of a single pair under a single copy mode. Projections and change mapping are counted apart from
+     * the copy mode's main mapper, and over JMX their pairs are keyed like {@code ANNOTATION_DRIVEN[changes]}.
+     *
+     * @param store           the store of a projection or of change mapping, such as {@code group:summary} or
+     *                        {@code changes}, or null for the main mapper
+     * @param compiledMappers the mappers compiled for the pair, normally one
+     * @param compileTime     the time spent compiling the pair, including failed attempts
+     * @param fieldsMapped    the fields written by the compiled mappers
+     * @param compileFailures the failed compilations, each of which threw to its caller
+     * @param invocations     the calls to the pair's mappers, compiled or interpreted
+     */
+    public record PairMetrics(CopyMode copyMode, String store, TypePair pair, long compiledMappers, Duration compileTime,
+                              long fieldsMapped, long compileFailures, long invocations) {}
+}
@@ -0,0 +1,23 @@
+package com.reflectmap;
+
+import java.util.Objects;
+
+/**
+ * A (srcType, dstType) pair, the unit ReflectMap compiles a mapper for.
+ */
+public record TypePair(Class<?> srcType, Class<?> dstType) {
+
+    public TypePair {
+        Objects.requireNonNull(srcType, "srcType");
+        Objects.requireNonNull(dstType, "dstType");
+    }
+
+    public static TypePair of(Class<?> srcType, Class<?> dstType) {
+        return new TypePair(srcType, dstType);
+    }
+
+    @Override
+    public String toString() {
+        return srcType.getName() + " -> " + dstType.getName();
+    }
+}
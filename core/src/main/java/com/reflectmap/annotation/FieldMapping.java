@@ -7,5 +7,29 @@ import java.lang.annotation.*;
 public @interface FieldMapping {
     Class<?> srcType();
     String srcFieldName();
+
+    /**
+     * Whether a null intermediate object on a dotted {@link #srcFieldName()} path yields null, or zero for a primitive
+     * field, rather than failing with an NPE. The check is compiled into the getter and costs next to nothing while
+     * the path is non-null. Off by default, so a missing intermediate object is reported rather than hidden.
+     */
+    boolean nullSafe() default false;
+
+    /**
+     * A dotted path relative to the annotated field, such as {@code "address.city"}, to map into a nested object
+     * instead of the annotated field itself.
+     */
     String dstFieldName() default "";
+
+    /**
+     * Whether null intermediate objects on the {@link #dstFieldName()} path are created with their no-args
+     * constructor, rather than failing with an NPE. Created objects are stored and reused by later calls.
+     */
+    boolean createMissing() default false;
+
+    /**
+     * The projections this mapping belongs to. A mapper compiled for {@code Projection.ofGroup(name)} copies only the
+     * fields whose mapping lists that name.
+     */
+    String[] groups() default {};
 }
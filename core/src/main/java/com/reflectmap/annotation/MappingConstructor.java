@@ -0,0 +1,19 @@
+package com.reflectmap.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks the constructor {@code CopyMode.CONSTRUCTOR} creates destination objects with. Each parameter is bound to the
+ * destination field of the same name, and takes its value as that field would under {@code CopyMode.ALL}.
+ *
+ * <p>Records need no annotation, as their canonical constructor is used by default.</p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.CONSTRUCTOR)
+public @interface MappingConstructor {
+    /**
+     * The destination field bound to each parameter, in parameter order. May be left empty when the class is compiled
+     * with {@code -parameters}, in which case the parameter names are used.
+     */
+    String[] value() default {};
+}
@@ -0,0 +1,12 @@
+package com.reflectmap.exception;
+
+public class ConstructorNotFoundException extends ReflectMapException {
+
+    public ConstructorNotFoundException(Class<?> type) {
+        this(type, "no-args");
+    }
+
+    public ConstructorNotFoundException(Class<?> type, String kind) {
+        super(String.format("Failed to find a %s constructor in class: %s", kind, type.getName()));
+    }
+}
@@ -0,0 +1,98 @@
+package com.reflectmap.internal;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Records every (copy mode, srcType, dstType) triple compiled while recording is active, in compilation order, along
+ * with the store of the mode it was compiled for when that is not the mode's main store.
+ */
+public final class CompilationRecorder {
+
+    public static final String RECORD_PROPERTY = "reflectmap.archive.record";
+
+    private static final String HEADER = "# ReflectMap mapper archive: <copy mode> <source type> <destination type> [<store>]";
+
+    /**
+     * Null unless recording. Compilation is already the slow path, so a synchronized set is sufficient.
+     */
+    private static volatile Set<Entry> entries;
+
+    // This class is initialized by the first compilation, so a training run started by property misses nothing.
+    // A write failure at shutdown cannot be thrown to anyone, so it is reported as a single line on stderr.
+    static {
+        String file = System.getProperty(RECORD_PROPERTY);
+        if (file != null && !file.isBlank()) {
+            start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    write(Paths.get(file));
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("ReflectMap: failed to write the mapper archive " + file + ": " + e);
+                }
+            }, "reflectmap-archive-writer"));
+        }
+    }
+
+    private CompilationRecorder() {}
+
+    public static synchronized void start() {
+        if (entries == null) {
+            entries = Collections.synchronizedSet(new LinkedHashSet<>());
+        }
+    }
+
+    public static synchronized void stop() {
+        entries = null;
+    }
+
+    static void record(String copyMode, String store, Class<?> srcType, Class<?> dstType) {
+        Set<Entry> current = entries;
+        if (current != null) {
+            current.add(new Entry(copyMode, srcType.getName(), dstType.getName(), store));
+        }
+    }
+
+    /**
+     * A snapshot of the triples recorded so far. Empty if not recording.
+     */
+    public static List<Entry> entries() {
+        Set<Entry> current = entries;
+        if (current == null) {
+            return List.of();
+        }
+        synchronized (current) {
+            return new ArrayList<>(current);
+        }
+    }
+
+    /**
+     * Writes every triple recorded so far to the given file, one per line, in compilation order.
+     */
+    public static void write(Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write(HEADER);
+            out.newLine();
+            for (Entry entry : entries()) {
+                out.write(entry.copyMode() + " " + entry.srcTypeName() + " " + entry.dstTypeName());
+                if (entry.store() != null) {
+                    out.write(" " + entry.store());
+                }
+                out.newLine();
+            }
+        }
+    }
+
+    /**
+     * @param store The store of the copy mode the pair was compiled for, or null for its main store.
+     */
+    public record Entry(String copyMode, String srcTypeName, String dstTypeName, String store) {}
+}
@@ -0,0 +1,87 @@
+package com.reflectmap.internal;
+
+/**
+ * Collects what compilers report about the compilation running on the current thread: the number of fields the
+ * compiled mapper writes, and the lambdas and classes it creates. Scopes nest, and a closed scope adds its counts to
+ * the enclosing one.
+ */
+public final class CompilationScope implements AutoCloseable {
+
+    private static final ThreadLocal<CompilationScope> CURRENT = new ThreadLocal<>();
+
+    private final CompilationScope enclosing;
+    private int fieldsMapped;
+    private int lambdas;
+    private int classes;
+    private int classBytes;
+
+    private CompilationScope(CompilationScope enclosing) {
+        this.enclosing = enclosing;
+    }
+
+    public static CompilationScope open() {
+        CompilationScope scope = new CompilationScope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Called by compilers with the number of fields a mapper writes. Ignored outside of a scope.
+     */
+    public static void fieldsMapped(int count) {
+        CompilationScope scope = CURRENT.get();
+        if (scope != null) {
+            scope.fieldsMapped += count;
+        }
+    }
+
+    /**
+     * Called by factories for every lambda instance they create. Ignored outside of a scope.
+     */
+    public static void lambdaCreated() {
+        CompilationScope scope = CURRENT.get();
+        if (scope != null) {
+            scope.lambdas++;
+        }
+    }
+
+    /**
+     * Called by factories for every class they define, with the size of its bytecode. Ignored outside of a scope.
+     */
+    public static void classDefined(int bytes) {
+        CompilationScope scope = CURRENT.get();
+        if (scope != null) {
+            scope.classes++;
+            scope.classBytes += bytes;
+        }
+    }
+
+    public int fieldsMapped() {
+        return fieldsMapped;
+    }
+
+    public int lambdas() {
+        return lambdas;
+    }
+
+    public int classes() {
+        return classes;
+    }
+
+    public int classBytes() {
+        return classBytes;
+    }
+
+    @Override
+    public void close() {
+        if (enclosing != null) {
+            enclosing.fieldsMapped += fieldsMapped;
+            enclosing.lambdas += lambdas;
+            enclosing.classes += classes;
+            enclosing.classBytes += classBytes;
+            CURRENT.set(enclosing);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.reflectmap.internal;
+
+import com.reflectmap.exception.ConstructorNotFoundException;
+import com.reflectmap.internal.compiler.metafactory.ConstructorSupplierFactory;
+import com.reflectmap.internal.compiler.metafactory.MethodHandleFactory;
+
+import java.util.function.Supplier;
+
+/**
+ * Caches a compiled no-args constructor per destination type, so creating a destination costs about as much as
+ * {@code new D()}, without a reflective lookup or access check on every call.
+ */
+public final class CompiledConstructorStore extends ClassValue<Supplier<Object>> {
+
+    public static final CompiledConstructorStore INSTANCE = new CompiledConstructorStore();
+
+    private CompiledConstructorStore() {}
+
+    @Override
+    protected Supplier<Object> computeValue(Class<?> type) {
+        try {
+            return ConstructorSupplierFactory.of(MethodHandleFactory.constructor(type));
+        } catch (NoSuchMethodException e) {
+            throw new ConstructorNotFoundException(type);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("Failed to derive constructor due to access control.", e);
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to compute constructor for " + type, e);
+        }
+    }
+}
@@ -2,23 +2,90 @@ package com.reflectmap.internal;
 
 import com.reflectmap.exception.ReflectMapException;
 import com.reflectmap.internal.compiler.Compiler;
+import com.reflectmap.internal.jfr.CompileEvent;
+import com.reflectmap.internal.jfr.MappingEvents;
 
-import java.util.function.BiConsumer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
-public final class CompiledLambdaStore extends ClassValue<ClassValue<BiConsumer<Object, Object>>> {
+/**
+ * Compiles and caches one {@code T} per (srcType, dstType) pair.
+ *
+ * <p>{@code ClassValue} may compute the same value on several threads at once, and keep only one of the results. So
+ * each pair maps to a cheap {@link Slot} instead, and the slot runs the compiler exactly once, however many threads
+ * first use the pair at the same time. A failed compilation is not cached, and is retried by the next caller of
+ * {@link #getCompiled(Class, Class)}.</p>
+ *
+ * <p>When started with {@code -Dreflectmap.compile.async=true}, {@link #get(Class, Class)} does not wait for the
+ * compiler. It returns the compiler's interpreted mapping, which is cheap to produce, while the pair compiles on a
+ * background thread, and returns the compiled mapping once it is published. Compilers without an interpreted mapping
+ * are always compiled on the calling thread.</p>
+ *
+ * <p>When started with {@code -Dreflectmap.compile.tierThreshold=N}, a pair starts out interpreted and is only
+ * compiled once {@link #get(Class, Class)} has returned it N times, like the JVM's own tiers. Pairs that are mapped a
+ * handful of times never spin a class. Promotion happens on the calling thread, or in the background when
+ * asynchronous compilation is also enabled. If the promotion fails, {@link #get(Class, Class)} keeps returning the
+ * interpreted mapping, and the pair is never promoted again.</p>
+ */
+public final class CompiledLambdaStore<T> extends ClassValue<ClassValue<CompiledLambdaStore<T>.Slot>> {
 
-    private final Compiler compiler;
+    public static final String ASYNC_PROPERTY = "reflectmap.compile.async";
 
-    public CompiledLambdaStore(Compiler compiler) {
+    public static final String TIER_THRESHOLD_PROPERTY = "reflectmap.compile.tierThreshold";
+
+    private static final boolean ASYNC = Boolean.getBoolean(ASYNC_PROPERTY);
+
+    /**
+     * The number of interpreted calls before a pair is compiled, or zero to compile on first use.
+     */
+    private static final int TIER_THRESHOLD = Math.max(0, Integer.getInteger(TIER_THRESHOLD_PROPERTY, 0));
+
+    private final String name;
+    private final String store;
+    private final Compiler<? extends T> compiler;
+
+    public CompiledLambdaStore(String name, Compiler<? extends T> compiler) {
+        this(name, null, compiler);
+    }
+
+    /**
+     * @param store Identifies this store among the stores of the same name in a mapper archive, or null for the main
+     *              store, so recorded pairs are replayed into the store they were compiled for.
+     */
+    public CompiledLambdaStore(String name, String store, Compiler<? extends T> compiler) {
+        this.name = name;
+        this.store = store;
         this.compiler = compiler;
     }
 
+    /**
+     * The mapping of the pair for a single call: the compiled mapping, or the interpreted one while the pair
+     * compiles in the background or has not yet reached the tier threshold.
+     */
+    public T get(Class<?> srcType, Class<?> dstType) {
+        return get(srcType).get(dstType).get();
+    }
+
+    /**
+     * The number of fields the pair's current mapping writes, or zero before it is resolved.
+     */
+    public int fieldCount(Class<?> srcType, Class<?> dstType) {
+        return get(srcType).get(dstType).fieldCount;
+    }
+
+    /**
+     * The compiled mapping of the pair, for callers that keep it. Waits for a background compilation in progress.
+     */
+    public T getCompiled(Class<?> srcType, Class<?> dstType) {
+        return get(srcType).get(dstType).compiled();
+    }
+
     @Override
-    protected ClassValue<BiConsumer<Object, Object>> computeValue(Class<?> srcType) {
+    protected ClassValue<Slot> computeValue(Class<?> srcType) {
         return new CompiledLambdaFactory(srcType);
     }
 
-    private final class CompiledLambdaFactory extends ClassValue<BiConsumer<Object, Object>> {
+    private final class CompiledLambdaFactory extends ClassValue<Slot> {
 
         private final Class<?> srcType;
 
@@ -27,17 +94,202 @@ public final class CompiledLambdaStore extends ClassValue<ClassValue<BiConsumer<
         }
 
         @Override
-        protected BiConsumer<Object, Object> computeValue(Class<?> dstType) {
+        protected Slot computeValue(Class<?> dstType) {
+            return new Slot(this, srcType, dstType);
+        }
+    }
+
+    /**
+     * Holds the mapping of a single pair. Racing threads may each create a slot, but {@code ClassValue} publishes only
+     * one of them, and compilation happens inside the published slot under its lock. The slot is admitted to
+     * {@link ResidentPairs} once it holds a mapping, and evicting it removes it from its {@code ClassValue}.
+     */
+    final class Slot extends ResidentPair {
+
+        private final CompiledLambdaFactory owner;
+
+        private volatile T compiled;
+        private volatile T interpreted;
+        private volatile boolean interpreterResolved;
+        private volatile boolean scheduled;
+        private volatile boolean promotionFailed;
+        private volatile int fieldCount;
+
+        /**
+         * Interpreted calls so far. Counted without synchronization: lost updates under contention only delay the
+         * promotion slightly.
+         */
+        private int calls;
+
+        private boolean admitted;
+
+        Slot(CompiledLambdaFactory owner, Class<?> srcType, Class<?> dstType) {
+            super(name, srcType, dstType);
+            this.owner = owner;
+        }
+
+        T get() {
+            if (ResidentPairs.BOUNDED && !referenced) {
+                referenced = true;
+            }
+            T value = compiled;
+            if (value != null) {
+                return value;
+            }
+            if (TIER_THRESHOLD == 0 && !ASYNC) {
+                return compiled();
+            }
+
+            value = interpreted();
+            if (value == null) {
+                return compiled();
+            }
+            if (TIER_THRESHOLD > 0 && ++calls <= TIER_THRESHOLD || promotionFailed) {
+                return value;
+            }
+            if (!ASYNC) {
+                return promote();
+            }
+            if (!scheduled) {
+                schedule();
+            }
+            return value;
+        }
+
+        T compiled() {
+            if (ResidentPairs.BOUNDED && !referenced) {
+                referenced = true;
+            }
+            T value = compiled;
+            if (value != null) {
+                return value;
+            }
+            synchronized (this) {
+                value = compiled;
+                if (value == null) {
+                    compiled = value = compile();
+                }
+                return value;
+            }
+        }
+
+        /**
+         * The interpreted mapping, resolved once. Null if the compiler has none.
+         */
+        private T interpreted() {
+            if (interpreterResolved) {
+                return interpreted;
+            }
+            synchronized (this) {
+                if (!interpreterResolved) {
+                    interpreted = interpret();
+                    interpreterResolved = true;
+                    if (interpreted != null) {
+                        CompilationRecorder.record(name, store, srcType, dstType);
+                    }
+                }
+                return interpreted;
+            }
+        }
+
+        private synchronized void schedule() {
+            if (!scheduled) {
+                scheduled = true;
+                BackgroundCompiler.EXECUTOR.execute(this::promote);
+            }
+        }
+
+        /**
+         * Replaces the interpreted mapping with the compiled one. If compilation fails where interpretation succeeded,
+         * single calls keep the interpreted mapping, so the pair never fails after it has worked. The failure is
+         * counted and recorded like any other, and the pair is never reported as compiled: {@link #compiled()} still
+         * compiles, and throws, for callers that keep the mapping.
+         *
+         * @return The mapping for the current call.
+         */
+        private synchronized T promote() {
+            T value = compiled;
+            if (value != null || promotionFailed) {
+                return value != null ? value : interpreted;
+            }
             try {
-                return compiler.compile(srcType, dstType);
-            } catch (ReflectMapException e) {
-                throw e;
-            } catch (IllegalAccessException e) {
-                throw new RuntimeException("Failed to derive mapping for field due to access control.", e);
+                compiled = value = compile();
+                return value;
+            } catch (RuntimeException e) {
+                promotionFailed = true;
+                return interpreted;
+            }
+        }
+
+        private T compile() {
+            T value = resolve(false);
+            CompilationRecorder.record(name, store, srcType, dstType);
+            return value;
+        }
+
+        private T interpret() {
+            return resolve(true);
+        }
+
+        /**
+         * Runs the compiler, or its interpreter, inside a compilation scope and a JFR compile event.
+         */
+        private T resolve(boolean interpreted) {
+            CompileEvent event = new CompileEvent();
+            event.begin();
+            try (CompilationScope scope = CompilationScope.open()) {
+                T value = interpreted ? compiler.interpret(srcType, dstType) : compiler.compile(srcType, dstType);
+                if (value != null) {
+                    fieldCount = scope.fieldsMapped();
+                    retained(scope);
+                    if (!admitted) {
+                        admitted = true;
+                        ResidentPairs.admit(this);
+                    }
+                }
+                if (value != null && event.shouldCommit()) {
+                    MappingEvents.compiled(event, name, srcType, dstType, interpreted, scope.fieldsMapped(), true);
+                }
+                return value;
             } catch (Throwable e) {
-                throw new RuntimeException("Failed to compute mapping from " + srcType + " to " + dstType, e);
+                if (event.shouldCommit()) {
+                    MappingEvents.compiled(event, name, srcType, dstType, interpreted, 0, false);
+                }
+                MappingEvents.lookupFailed(name, srcType, dstType, e);
+                throw failure(e);
             }
         }
+
+        /**
+         * Removes the slot from its store. The slot keeps its mapping, so a lookup that already holds the slot still
+         * returns it, and the slot is collected once no caller holds it.
+         */
+        @Override
+        void evict() {
+            owner.remove(dstType);
+        }
+
+        private RuntimeException failure(Throwable e) {
+            if (e instanceof ReflectMapException reflectMapException) {
+                return reflectMapException;
+            }
+            if (e instanceof IllegalAccessException) {
+                return new RuntimeException("Failed to derive mapping for field due to access control.", e);
+            }
+            return new RuntimeException("Failed to compute mapping from " + srcType + " to " + dstType, e);
+        }
     }
 
+    /**
+     * Created on first use, so the threads only exist when asynchronous compilation is enabled.
+     */
+    private static final class BackgroundCompiler {
+
+        static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 2), task -> {
+                    Thread thread = new Thread(task, "reflectmap-compiler");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
 }
@@ -0,0 +1,86 @@
+package com.reflectmap.internal;
+
+/**
+ * A type pair whose mapping is held by a store, as tracked by {@link ResidentPairs}: its identity, what its mapping
+ * retains, and whether it was used since the eviction clock last passed it.
+ */
+public abstract class ResidentPair {
+
+    /**
+     * Rough retained sizes, used only to estimate footprints: a lambda instance with its captured method handle
+     * chain, a method handle adapted for a single field, and the metaspace of a class beyond its bytecode.
+     */
+    private static final long LAMBDA_BYTES = 256;
+    private static final long HANDLE_BYTES = 128;
+    private static final long CLASS_BYTES = 2048;
+
+    final String copyMode;
+    final Class<?> srcType;
+    final Class<?> dstType;
+
+    /**
+     * Set on lookup when the store is bounded, and cleared by the eviction clock. Only written when it is clear, so
+     * steady lookups do not store to a shared cache line. A plain field: a lost update only gives the pair one more or
+     * one less pass of the clock.
+     */
+    boolean referenced;
+
+    private volatile int fields;
+    private volatile int lambdas;
+    private volatile int classes;
+    private volatile int classBytes;
+
+    ResidentPair(String copyMode, Class<?> srcType, Class<?> dstType) {
+        this.copyMode = copyMode;
+        this.srcType = srcType;
+        this.dstType = dstType;
+    }
+
+    /**
+     * Drops the mapping from its store, so the next lookup of the pair compiles it again.
+     */
+    abstract void evict();
+
+    /**
+     * Adds what a compilation of the pair created. Called under the pair's lock.
+     */
+    void retained(CompilationScope scope) {
+        fields = Math.max(fields, scope.fieldsMapped());
+        lambdas += scope.lambdas();
+        classes += scope.classes();
+        classBytes += scope.classBytes();
+    }
+
+    public String copyMode() {
+        return copyMode;
+    }
+
+    public Class<?> srcType() {
+        return srcType;
+    }
+
+    public Class<?> dstType() {
+        return dstType;
+    }
+
+    /**
+     * The lambda instances created for the pair. They share classes spun once per factory.
+     */
+    public int lambdas() {
+        return lambdas;
+    }
+
+    /**
+     * The classes defined for the pair, such as the hidden class of a hidden class copy mode.
+     */
+    public int classes() {
+        return classes;
+    }
+
+    /**
+     * A rough estimate of the heap and metaspace the pair's mapping retains.
+     */
+    public long estimatedBytes() {
+        return lambdas * LAMBDA_BYTES + fields * 2L * HANDLE_BYTES + classes * CLASS_BYTES + classBytes;
+    }
+}
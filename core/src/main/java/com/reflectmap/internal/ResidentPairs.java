@@ -0,0 +1,142 @@
+package com.reflectmap.internal;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Every type pair held by any store, in admission order, with an optional bound on their number.
+ *
+ * <p>Pairs are held through weak references, so this registry never keeps a class or its class loader alive. A
+ * store's mapping is reachable from the destination class, and is released with it when the class is unloaded. The
+ * references of unloaded pairs are pruned as new pairs are admitted, so a process that keeps loading and unloading
+ * classes does not grow the registry.</p>
+ *
+ * <p>When started with {@code -Dreflectmap.store.maxPairs=N}, admitting a pair beyond the bound evicts another one
+ * with the CLOCK algorithm, which approximates LRU: the clock hand sweeps the pairs in admission order, spares and
+ * clears every pair used since its last pass, and evicts the first one that was not. An evicted pair is compiled
+ * again on its next lookup. Mappers kept by callers, such as those returned by {@code ReflectMap.mapper}, stay valid
+ * after eviction, and keep what they retain.</p>
+ */
+public final class ResidentPairs {
+
+    public static final String MAX_PAIRS_PROPERTY = "reflectmap.store.maxPairs";
+
+    /**
+     * The maximum number of resident pairs, or zero if unbounded.
+     */
+    public static final int MAX_PAIRS = Math.max(0, Integer.getInteger(MAX_PAIRS_PROPERTY, 0));
+
+    public static final boolean BOUNDED = MAX_PAIRS > 0;
+
+    private static final List<WeakReference<ResidentPair>> PAIRS = new ArrayList<>();
+
+    private static int hand;
+
+    /**
+     * The size at which admission next prunes cleared references: twice the number of live pairs after the last prune,
+     * so the registry stays proportional to the live pairs and pruning costs amortized constant time per admission.
+     */
+    private static int pruneAt = 16;
+
+    private ResidentPairs() {}
+
+    /**
+     * Called once per slot, after its first successful compilation, which is already the slow path.
+     */
+    static synchronized void admit(ResidentPair pair) {
+        pair.referenced = true;
+        PAIRS.add(new WeakReference<>(pair));
+        if (BOUNDED) {
+            while (PAIRS.size() > MAX_PAIRS && sweep()) {
+                // Each step either clears a pair's reference bit or removes a pair.
+            }
+        } else if (PAIRS.size() >= pruneAt) {
+            prune();
+        }
+    }
+
+    private static void prune() {
+        PAIRS.removeIf(reference -> reference.get() == null);
+        hand = 0;
+        pruneAt = Math.max(16, PAIRS.size() * 2);
+    }
+
+    /**
+     * Advances the clock hand by one pair.
+     *
+     * @return false if there is nothing left to evict
+     */
+    private static boolean sweep() {
+        if (PAIRS.isEmpty()) {
+            return false;
+        }
+        if (hand >= PAIRS.size()) {
+            hand = 0;
+        }
+
+        ResidentPair pair = PAIRS.get(hand).get();
+        if (pair == null) {
+            PAIRS.remove(hand);
+        } else if (pair.referenced) {
+            pair.referenced = false;
+            hand++;
+        } else {
+            PAIRS.remove(hand);
+            pair.evict();
+        }
+        return true;
+    }
+
+    /**
+     * Every pair still resident, in admission order.
+     */
+    public static synchronized List<ResidentPair> pairs() {
+        List<ResidentPair> pairs = new ArrayList<>(PAIRS.size());
+        PAIRS.removeIf(reference -> {
+            ResidentPair pair = reference.get();
+            if (pair != null) {
+                pairs.add(pair);
+            }
+            return pair == null;
+        });
+        hand = 0;
+        return pairs;
+    }
+
+    /**
+     * Evicts every pair whose source or destination type was loaded by the class loader, such as the loader of a
+     * plugin about to be unloaded.
+     *
+     * @return the number of pairs evicted
+     */
+    public static synchronized int evict(ClassLoader loader) {
+        Objects.requireNonNull(loader, "loader");
+        int evicted = 0;
+        for (ResidentPair pair : pairs()) {
+            if (pair.srcType.getClassLoader() == loader || pair.dstType.getClassLoader() == loader) {
+                pair.evict();
+                evicted++;
+            }
+        }
+        PAIRS.removeIf(reference -> {
+            ResidentPair pair = reference.get();
+            return pair == null || pair.srcType.getClassLoader() == loader || pair.dstType.getClassLoader() == loader;
+        });
+        return evicted;
+    }
+
+    /**
+     * Evicts every pair.
+     *
+     * @return the number of pairs evicted
+     */
+    public static synchronized int evictAll() {
+        List<ResidentPair> pairs = pairs();
+        pairs.forEach(ResidentPair::evict);
+        PAIRS.clear();
+        hand = 0;
+        return pairs.size();
+    }
+}
@@ -1,46 +1,99 @@
 package com.reflectmap.internal.compiler;
 
+import com.reflectmap.exception.ConstructorNotFoundException;
 import com.reflectmap.exception.FieldNotFoundException;
 import com.reflectmap.exception.FieldsNotFoundException;
+import com.reflectmap.internal.CompilationScope;
 import com.reflectmap.internal.compiler.metafactory.CompositeBiConsumerFactory;
 import com.reflectmap.internal.compiler.metafactory.CopyBiConsumerFactory;
+import com.reflectmap.internal.compiler.metafactory.GetOrCreateFactory;
 import com.reflectmap.internal.compiler.metafactory.MethodHandleFactory;
+import com.reflectmap.internal.compiler.metafactory.NullSafeGetterFactory;
+import com.reflectmap.internal.metadata.ClassMetadata;
+import com.reflectmap.internal.metadata.FieldMetadata;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
-import java.lang.reflect.Field;
 import java.util.ArrayDeque;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
 import java.util.function.BiConsumer;
 
-public abstract class AbstractLambdaCompiler implements Compiler {
+public abstract class AbstractLambdaCompiler implements Compiler<BiConsumer<Object, Object>> {
 
     @Override
     public BiConsumer<Object, Object> compile(Class<?> srcType, Class<?> dstType) throws Throwable {
         Queue<BiConsumer<Object, Object>> consumers = new ArrayDeque<>();
-        for (Field dstField : dstType.getDeclaredFields()) {
+        for (LambdaCompilerInstruction instruction : createInstructions(srcType, dstType)) {
+            consumers.offer(CopyBiConsumerFactory.of(instruction));
+        }
+
+        return CompositeBiConsumerFactory.of(consumers);
+    }
+
+    @Override
+    public BiConsumer<Object, Object> interpret(Class<?> srcType, Class<?> dstType) throws Throwable {
+        return new InterpretedBiConsumer(createInstructions(srcType, dstType));
+    }
+
+    /**
+     * Resolves one instruction per mappable destination field, including inherited fields, in declaration order.
+     *
+     * @throws FieldsNotFoundException if no destination field could be mapped
+     */
+    protected List<LambdaCompilerInstruction> createInstructions(Class<?> srcType, Class<?> dstType) throws IllegalAccessException {
+        checkDstType(dstType);
+        List<LambdaCompilerInstruction> instructions = new ArrayList<>();
+        for (FieldMetadata dstField : ClassMetadata.of(dstType).fields()) {
             LambdaCompilerInstruction instruction = createInstruction(srcType, dstType, dstField);
             if (instruction != null) {
-                consumers.offer(CopyBiConsumerFactory.of(instruction));
+                instructions.add(instruction);
             }
         }
 
-        if (consumers.isEmpty()) {
+        if (instructions.isEmpty()) {
             throw new FieldsNotFoundException(srcType, dstType);
         }
 
-        return CompositeBiConsumerFactory.of(consumers);
+        CompilationScope.fieldsMapped(instructions.size());
+        return instructions;
     }
 
-    protected abstract LambdaCompilerInstruction createInstruction(Class<?> srcType, Class<?> dstType, Field dstField) throws IllegalAccessException;
+    /**
+     * Checks that the destination type has every field this compiler is configured with, before any field is planned.
+     * Compilers that plan through another compiler forward the check to it.
+     */
+    protected void checkDstType(Class<?> dstType) {}
+
+    protected abstract LambdaCompilerInstruction createInstruction(Class<?> srcType, Class<?> dstType, FieldMetadata dstField) throws IllegalAccessException;
+
+    /**
+     * Resolves the source value this compiler maps into the destination field, without resolving a setter.
+     *
+     * @return A getter of type (srcType)T, or null if this compiler does not map the field.
+     */
+    protected abstract MethodHandle resolveGetterHandle(Class<?> srcType, FieldMetadata dstField) throws IllegalAccessException;
+
+    /**
+     * The dotted destination path this compiler writes for the destination field: the field itself unless a mapping
+     * redirects it. Only meaningful when {@link #createInstruction} resolves the field.
+     */
+    protected String[] dstFieldNames(Class<?> srcType, FieldMetadata dstField) throws IllegalAccessException {
+        return new String[] {dstField.name()};
+    }
 
     protected MethodHandle createGetterHandle(Class<?> srcType, String srcFieldName) throws NoSuchFieldException, IllegalAccessException {
-        Field srcField = srcType.getDeclaredField(srcFieldName);
-        return MethodHandleFactory.getter(srcType, srcField);
+        return ClassMetadata.of(srcType).field(srcFieldName).getter(srcType);
     }
 
-    protected MethodHandle createGetterHandle(Class<?> srcType, String... srcFieldNames) throws IllegalAccessException {
+    /**
+     * Resolves a getter of type (srcType)T for a dotted source path.
+     *
+     * @param nullSafe Whether a null intermediate object yields null, or zero for a primitive field, rather than
+     *                 failing with an NPE.
+     */
+    protected MethodHandle createGetterHandle(Class<?> srcType, boolean nullSafe, String... srcFieldNames) throws IllegalAccessException {
         if (srcFieldNames.length == 0) {
             return null;
         }
@@ -53,7 +106,7 @@ public abstract class AbstractLambdaCompiler implements Compiler {
                 MethodHandle getter = createGetterHandle(currentType, fieldName);
 
                 if (current != null) {
-                    current = MethodHandles.filterReturnValue(current, getter);
+                    current = MethodHandles.filterReturnValue(current, nullSafe ? NullSafeGetterFactory.of(getter) : getter);
                 } else {
                     current = getter;
                 }
@@ -69,38 +122,54 @@ public abstract class AbstractLambdaCompiler implements Compiler {
         return current;
     }
 
-    protected MethodHandle createSetterHandle(Class<?> dstType, Field dstField) throws NoSuchFieldException, IllegalAccessException {
-        return MethodHandleFactory.setter(dstType, dstField);
+    protected MethodHandle createSetterHandle(Class<?> dstType, FieldMetadata dstField) throws NoSuchFieldException, IllegalAccessException {
+        return dstField.setter(dstType);
     }
 
-    protected MethodHandle createSetterHandle(Class<?> dstType, String dstFieldName) throws NoSuchFieldException, IllegalAccessException {
-        Field dstField = dstType.getDeclaredField(dstFieldName);
-        return createSetterHandle(dstType, dstField);
-    }
-
-    protected MethodHandle createSetterHandle(Class<?> dstType, String... dstFieldNames) throws IllegalAccessException {
+    /**
+     * Resolves a setter of type (dstType, T)void for a dotted destination path. Every field but the last is read to
+     * reach the object that owns the last field.
+     *
+     * @param createMissing Whether a null intermediate object is created with its no-args constructor and stored,
+     *                      rather than failing with an NPE. Created objects are reused by later calls.
+     */
+    protected MethodHandle createSetterHandle(Class<?> dstType, boolean createMissing, String... dstFieldNames) throws IllegalAccessException {
         if (dstFieldNames.length == 0) {
             throw new FieldNotFoundException(dstType.getName());
         }
 
-        try {
-            if (dstFieldNames.length == 1) {
-                return createSetterHandle(dstType, dstFieldNames[0]);
-            }
+        MethodHandle owner = null;
+        Class<?> currentType = dstType;
 
-            String[] nestedFieldNames = Arrays.copyOf(dstFieldNames, dstFieldNames.length - 1);
-            MethodHandle getter = createGetterHandle(dstType, nestedFieldNames);
-            Class<?> getterRetType = getter.type().returnType();
+        try {
+            for (int i = 0; i < dstFieldNames.length - 1; i++) {
+                FieldMetadata f = ClassMetadata.of(currentType).field(dstFieldNames[i]);
+                MethodHandle getter = f.getter(currentType);
+                if (createMissing) {
+                    MethodHandle setter = f.setter(currentType);
+                    MethodHandle constructor = createConstructorHandle(f.type());
+                    getter = GetOrCreateFactory.of(getter, setter, constructor);
+                }
 
-            String lastFieldName = dstFieldNames[dstFieldNames.length - 1];
-            Field f = getterRetType.getDeclaredField(lastFieldName);
-            MethodHandle setter = createSetterHandle(getterRetType, f);
+                owner = owner != null ? MethodHandles.filterReturnValue(owner, getter) : getter;
+                currentType = f.type();
+            }
 
-            return MethodHandles.foldArguments(setter, getter);
+            FieldMetadata f = ClassMetadata.of(currentType).field(dstFieldNames[dstFieldNames.length - 1]);
+            MethodHandle setter = createSetterHandle(currentType, f);
+            return owner != null ? MethodHandles.filterArguments(setter, 0, owner) : setter;
         } catch (NoSuchFieldException e) {
             String fmtClassName = dstType.getName();
             String fmtFieldNames = String.join(".", dstFieldNames);
             throw new FieldNotFoundException(fmtClassName, fmtFieldNames);
         }
     }
+
+    private static MethodHandle createConstructorHandle(Class<?> type) throws IllegalAccessException {
+        try {
+            return MethodHandleFactory.constructor(type);
+        } catch (NoSuchMethodException e) {
+            throw new ConstructorNotFoundException(type);
+        }
+    }
 }
@@ -1,41 +1,36 @@
 package com.reflectmap.internal.compiler;
 
-import com.reflectmap.annotation.FieldMapping;
-import com.reflectmap.internal.util.TypeUtils;
+import com.reflectmap.internal.metadata.FieldMappingMetadata;
+import com.reflectmap.internal.metadata.FieldMetadata;
 
 import java.lang.invoke.MethodHandle;
-import java.lang.reflect.Field;
 
 final class AnnotationDrivenLambdaCompiler extends AbstractLambdaCompiler {
 
     AnnotationDrivenLambdaCompiler() {}
 
     @Override
-    protected LambdaCompilerInstruction createInstruction(Class<?> srcType, Class<?> dstType, Field dstField) throws IllegalAccessException {
-        FieldMapping[] annotations = dstField.getDeclaredAnnotationsByType(FieldMapping.class);
-
-        if (annotations.length == 0) {
+    protected LambdaCompilerInstruction createInstruction(Class<?> srcType, Class<?> dstType, FieldMetadata dstField) throws IllegalAccessException {
+        FieldMappingMetadata mapping = dstField.mapping(srcType);
+        if (mapping == null) {
             return null;
         }
 
-        FieldMapping annotation = null;
-        for (FieldMapping candidate : annotations) {
-            if (TypeUtils.isTypeCompatible(srcType, candidate.srcType())) {
-                annotation = candidate;
-                break;
-            }
-        }
-
-        if (annotation == null) {
-            return null;
-        }
+        MethodHandle getter = createGetterHandle(srcType, mapping.nullSafe(), mapping.srcFieldNames());
+        MethodHandle setter = createSetterHandle(dstType, mapping.createMissing(), mapping.dstFieldNames());
 
-        String[] srcFieldNames = annotation.srcFieldName().trim().split("\\.");
-        String[] dstFieldNames = dstField.getName().trim().split("\\.");
+        return new LambdaCompilerInstruction(getter, setter, srcType, dstType, String.join(".", mapping.dstFieldNames()));
+    }
 
-        MethodHandle getter = createGetterHandle(srcType, srcFieldNames);
-        MethodHandle setter = createSetterHandle(dstType, dstFieldNames);
+    @Override
+    protected MethodHandle resolveGetterHandle(Class<?> srcType, FieldMetadata dstField) throws IllegalAccessException {
+        FieldMappingMetadata mapping = dstField.mapping(srcType);
+        return mapping != null ? createGetterHandle(srcType, mapping.nullSafe(), mapping.srcFieldNames()) : null;
+    }
 
-        return new LambdaCompilerInstruction(getter, setter, srcType, dstType);
+    @Override
+    protected String[] dstFieldNames(Class<?> srcType, FieldMetadata dstField) throws IllegalAccessException {
+        FieldMappingMetadata mapping = dstField.mapping(srcType);
+        return mapping != null ? mapping.dstFieldNames() : super.dstFieldNames(srcType, dstField);
     }
 }
@@ -0,0 +1,59 @@
+package com.reflectmap.internal.compiler;
+
+import com.reflectmap.exception.FieldsNotFoundException;
+import com.reflectmap.internal.CompilationScope;
+import com.reflectmap.internal.compiler.metafactory.ChangeMaskFactory;
+import com.reflectmap.internal.metadata.ClassMetadata;
+import com.reflectmap.internal.metadata.FieldMetadata;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Compiles the fields another compiler plans into a {@link ChangeMapper}. Each field reads the destination's current
+ * value, compares it with the source value, by value for primitives and by identity for references, and is only
+ * written when they differ.
+ *
+ * <p>The current value of a nested destination path is read null-safely, so an intermediate object that is missing
+ * reads as null, or zero for a primitive field, and is only created if the source value differs from that.</p>
+ */
+final class ChangeDetectingCompiler implements Compiler<ChangeMapper> {
+
+    private final AbstractLambdaCompiler planner;
+
+    ChangeDetectingCompiler(AbstractLambdaCompiler planner) {
+        this.planner = planner;
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ChangeMapper compile(Class<?> srcType, Class<?> dstType) throws Throwable {
+        List<MethodHandle> handles = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        for (FieldMetadata dstField : ClassMetadata.of(dstType).fields()) {
+            LambdaCompilerInstruction instruction = planner.createInstruction(srcType, dstType, dstField);
+            if (instruction == null) {
+                continue;
+            }
+
+            String[] dstFieldNames = planner.dstFieldNames(srcType, dstField);
+            MethodHandle current = planner.createGetterHandle(dstType, true, dstFieldNames);
+            handles.add(ChangeMaskFactory.field(instruction, current, handles.size() % Long.SIZE));
+            fields.add(String.join(".", dstFieldNames));
+        }
+
+        if (handles.isEmpty()) {
+            throw new FieldsNotFoundException(srcType, dstType);
+        }
+
+        ToLongBiFunction<Object, Object>[] chunks = new ToLongBiFunction[(handles.size() + Long.SIZE - 1) / Long.SIZE];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = ChangeMaskFactory.of(handles.subList(i * Long.SIZE, Math.min(handles.size(), (i + 1) * Long.SIZE)));
+        }
+
+        CompilationScope.fieldsMapped(handles.size());
+        return new ChangeMapper(chunks, fields);
+    }
+}
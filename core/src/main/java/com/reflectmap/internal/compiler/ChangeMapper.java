@@ -0,0 +1,72 @@
+package com.reflectmap.internal.compiler;
+
+import com.reflectmap.exception.ReflectMapException;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Copies the fields of a single type pair, skipping every field whose destination value already equals the source
+ * value, and reports the fields it wrote. Bit {@code i} of the mask stands for {@code fields().get(i)}.
+ */
+public final class ChangeMapper {
+
+    /**
+     * One function per 64 fields, each returning the mask of its own fields.
+     */
+    private final ToLongBiFunction<Object, Object>[] chunks;
+    private final List<String> fields;
+
+    ChangeMapper(ToLongBiFunction<Object, Object>[] chunks, List<String> fields) {
+        this.chunks = chunks;
+        this.fields = List.copyOf(fields);
+    }
+
+    /**
+     * Copies every changed field and returns the mask of the fields written.
+     *
+     * @throws ReflectMapException if the pair maps more than 64 fields, which only {@link #changeSet} can report.
+     */
+    public long changes(Object src, Object dst) {
+        if (chunks.length != 1) {
+            throw new ReflectMapException(String.format("Cannot report %d changed fields in a long mask, use a BitSet instead",
+                    fields.size()));
+        }
+        return chunks[0].applyAsLong(src, dst);
+    }
+
+    /**
+     * Copies every changed field and returns the set of the fields written.
+     */
+    public BitSet changeSet(Object src, Object dst) {
+        long[] words = new long[chunks.length];
+        for (int i = 0; i < chunks.length; i++) {
+            words[i] = chunks[i].applyAsLong(src, dst);
+        }
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * A mapper which runs the action once before every call, such as counting it, and otherwise behaves like this one.
+     */
+    public ChangeMapper onCall(Runnable action) {
+        if (chunks.length == 0) {
+            return this;
+        }
+        ToLongBiFunction<Object, Object>[] wrapped = chunks.clone();
+        ToLongBiFunction<Object, Object> first = chunks[0];
+        wrapped[0] = (src, dst) -> {
+            action.run();
+            return first.applyAsLong(src, dst);
+        };
+        return new ChangeMapper(wrapped, fields);
+    }
+
+    /**
+     * The dotted destination path of every field, in bit order.
+     */
+    public List<String> fields() {
+        return fields;
+    }
+}
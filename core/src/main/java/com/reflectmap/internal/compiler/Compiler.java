@@ -1,10 +1,22 @@
 package com.reflectmap.internal.compiler;
 
-import java.util.function.BiConsumer;
+/**
+ * Compiles the mapping of a single type pair into a {@code T}, such as a {@code BiConsumer} that copies into an
+ * existing destination object.
+ */
+@FunctionalInterface
+public interface Compiler<T> {
 
+    T compile(Class<?> srcType, Class<?> dstType) throws Throwable;
 
-public interface Compiler {
-
-    BiConsumer<Object, Object> compile(Class<?> srcType, Class<?> dstType) throws Throwable;
+    /**
+     * Resolves the same mapping as {@link #compile(Class, Class)} into a {@code T} which is cheap to produce but
+     * slower to run, since it spins no classes. Used while the pair compiles in the background.
+     *
+     * @return The interpreted mapping, or null if this compiler has none and callers must wait for compilation.
+     */
+    default T interpret(Class<?> srcType, Class<?> dstType) throws Throwable {
+        return null;
+    }
 
 }
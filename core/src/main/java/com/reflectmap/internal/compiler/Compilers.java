@@ -1,10 +1,73 @@
 package com.reflectmap.internal.compiler;
 
+import com.reflectmap.exception.ReflectMapException;
+
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
 public final class Compilers {
 
     private Compilers() {}
 
-    public static final Compiler ANNOTATION_DRIVEN = new AnnotationDrivenLambdaCompiler();
-    public static final Compiler DIRECT_COPY = new DirectCopyLambdaCompiler();
+    public static final Compiler<BiConsumer<Object, Object>> ALL = new FusedLambdaCompiler(new AnnotationDrivenLambdaCompiler(), new DirectCopyLambdaCompiler());
+    public static final Compiler<BiConsumer<Object, Object>> ANNOTATION_DRIVEN = new GeneratedMapperCompiler(new AnnotationDrivenLambdaCompiler());
+    public static final Compiler<BiConsumer<Object, Object>> DIRECT_COPY = new DirectCopyLambdaCompiler();
+    public static final Compiler<BiConsumer<Object, Object>> ANNOTATION_DRIVEN_HIDDEN_CLASS = new HiddenClassLambdaCompiler(new AnnotationDrivenLambdaCompiler());
+    public static final Compiler<BiConsumer<Object, Object>> DIRECT_COPY_HIDDEN_CLASS = new HiddenClassLambdaCompiler(new DirectCopyLambdaCompiler());
+    public static final Compiler<BiConsumer<Object, Object>> ANNOTATION_DRIVEN_NON_NULL = new NonNullLambdaCompiler(new AnnotationDrivenLambdaCompiler());
+    public static final Compiler<BiConsumer<Object, Object>> DIRECT_COPY_NON_NULL = new NonNullLambdaCompiler(new DirectCopyLambdaCompiler());
+    public static final Compiler<BiConsumer<Object, Object>> DEEP_COPY = new DeepCopyLambdaCompiler();
+    public static final Compiler<Function<Object, Object>> CONSTRUCTOR = new ConstructorLambdaCompiler(new FusedLambdaCompiler(new AnnotationDrivenLambdaCompiler(), new DirectCopyLambdaCompiler()));
+
+    public static final Compiler<ChangeMapper> CHANGES_ALL = new ChangeDetectingCompiler(new FusedLambdaCompiler(new AnnotationDrivenLambdaCompiler(), new DirectCopyLambdaCompiler()));
+    public static final Compiler<ChangeMapper> CHANGES_ANNOTATION_DRIVEN = new ChangeDetectingCompiler(new AnnotationDrivenLambdaCompiler());
+    public static final Compiler<ChangeMapper> CHANGES_DIRECT_COPY = new ChangeDetectingCompiler(new DirectCopyLambdaCompiler());
+
+    /**
+     * Compilers restricted to a projection, given its group name, or null, and its field names. Projected pairs never
+     * use a build-time generated mapper, which always copies every field.
+     */
+    public static final BiFunction<String, Set<String>, Compiler<BiConsumer<Object, Object>>> PROJECTED_ALL =
+            (group, fields) -> new ProjectionLambdaCompiler(new FusedLambdaCompiler(new AnnotationDrivenLambdaCompiler(), new DirectCopyLambdaCompiler()), group, fields);
+    public static final BiFunction<String, Set<String>, Compiler<BiConsumer<Object, Object>>> PROJECTED_ANNOTATION_DRIVEN =
+            (group, fields) -> new ProjectionLambdaCompiler(new AnnotationDrivenLambdaCompiler(), group, fields);
+    public static final BiFunction<String, Set<String>, Compiler<BiConsumer<Object, Object>>> PROJECTED_DIRECT_COPY =
+            (group, fields) -> new ProjectionLambdaCompiler(new DirectCopyLambdaCompiler(), group, fields);
+    public static final BiFunction<String, Set<String>, Compiler<BiConsumer<Object, Object>>> PROJECTED_ANNOTATION_DRIVEN_NON_NULL =
+            (group, fields) -> new NonNullLambdaCompiler(new ProjectionLambdaCompiler(new AnnotationDrivenLambdaCompiler(), group, fields));
+    public static final BiFunction<String, Set<String>, Compiler<BiConsumer<Object, Object>>> PROJECTED_DIRECT_COPY_NON_NULL =
+            (group, fields) -> new NonNullLambdaCompiler(new ProjectionLambdaCompiler(new DirectCopyLambdaCompiler(), group, fields));
+    public static final BiFunction<String, Set<String>, Compiler<BiConsumer<Object, Object>>> PROJECTED_ANNOTATION_DRIVEN_HIDDEN_CLASS =
+            (group, fields) -> new HiddenClassLambdaCompiler(new ProjectionLambdaCompiler(new AnnotationDrivenLambdaCompiler(), group, fields));
+    public static final BiFunction<String, Set<String>, Compiler<BiConsumer<Object, Object>>> PROJECTED_DIRECT_COPY_HIDDEN_CLASS =
+            (group, fields) -> new HiddenClassLambdaCompiler(new ProjectionLambdaCompiler(new DirectCopyLambdaCompiler(), group, fields));
+
+    /**
+     * Rejects projections, for copy modes that create their destinations or replace referenced objects.
+     */
+    public static final BiFunction<String, Set<String>, Compiler<BiConsumer<Object, Object>>> PROJECTED_UNSUPPORTED =
+            (group, fields) -> (srcType, dstType) -> {
+                throw new ReflectMapException(String.format("Cannot project %s to %s: the copy mode maps every field",
+                        srcType.getName(), dstType.getName()));
+            };
+
+    /**
+     * Rejects change detection, for copy modes that create their destinations, replace referenced objects, or skip
+     * null source values.
+     */
+    public static final Compiler<ChangeMapper> CHANGES_UNSUPPORTED = (srcType, dstType) -> {
+        throw new ReflectMapException(String.format("Cannot detect changes from %s to %s: the copy mode does not support change detection",
+                srcType.getName(), dstType.getName()));
+    };
+
+    /**
+     * Rejects mapping into an existing destination object, for copy modes that create their destinations.
+     */
+    public static final Compiler<BiConsumer<Object, Object>> CREATE_ONLY = (srcType, dstType) -> {
+        throw new ReflectMapException(String.format("Cannot map %s into an existing %s: the copy mode creates its destination objects",
+                srcType.getName(), dstType.getName()));
+    };
 
 }
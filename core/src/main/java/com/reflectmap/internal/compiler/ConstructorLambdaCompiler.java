@@ -0,0 +1,129 @@
+package com.reflectmap.internal.compiler;
+
+import com.reflectmap.annotation.MappingConstructor;
+import com.reflectmap.exception.ConstructorNotFoundException;
+import com.reflectmap.exception.FieldNotFoundException;
+import com.reflectmap.exception.FieldsNotFoundException;
+import com.reflectmap.exception.ReflectMapException;
+import com.reflectmap.internal.CompilationScope;
+import com.reflectmap.internal.compiler.metafactory.GetterFunctionFactory;
+import com.reflectmap.internal.compiler.metafactory.MethodHandleFactory;
+import com.reflectmap.internal.metadata.ClassMetadata;
+import com.reflectmap.internal.metadata.FieldMetadata;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.RecordComponent;
+import java.util.function.Function;
+
+/**
+ * Compiles a type pair into a function that creates the destination object through a single constructor call, so
+ * records and classes with {@code final} fields can be mapped.
+ *
+ * <p>Every parameter is bound to the destination field of the same name and resolved by another compiler. The getters
+ * are spliced into the constructor with {@code filterArguments}, and all of them are fed the same source object with
+ * {@code permuteArguments}, so the whole mapping is one method handle with no intermediate array. Parameters the
+ * compiler does not map receive {@code null} or zero.</p>
+ */
+final class ConstructorLambdaCompiler implements Compiler<Function<Object, Object>> {
+
+    private final AbstractLambdaCompiler planner;
+
+    ConstructorLambdaCompiler(AbstractLambdaCompiler planner) {
+        this.planner = planner;
+    }
+
+    @Override
+    public Function<Object, Object> compile(Class<?> srcType, Class<?> dstType) throws Throwable {
+        Constructor<?> constructor = findConstructor(dstType);
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        String[] fieldNames = fieldNames(dstType, constructor);
+
+        MethodHandle[] getters = new MethodHandle[parameterTypes.length];
+        int mapped = 0;
+        for (int i = 0; i < parameterTypes.length; i++) {
+            FieldMetadata dstField;
+            try {
+                dstField = ClassMetadata.of(dstType).field(fieldNames[i]);
+            } catch (NoSuchFieldException e) {
+                throw new FieldNotFoundException(dstType.getName(), fieldNames[i]);
+            }
+
+            MethodHandle getter = planner.resolveGetterHandle(srcType, dstField);
+            if (getter == null) {
+                getters[i] = MethodHandles.empty(MethodType.methodType(parameterTypes[i], Object.class));
+                continue;
+            }
+
+            getter = LambdaCompilerInstruction.convert(getter, parameterTypes[i], srcType, dstType, fieldNames[i]);
+            getters[i] = getter.asType(MethodType.methodType(parameterTypes[i], Object.class));
+            mapped++;
+        }
+
+        if (mapped == 0) {
+            throw new FieldsNotFoundException(srcType, dstType);
+        }
+        CompilationScope.fieldsMapped(mapped);
+
+        MethodHandle handle = MethodHandleFactory.constructor(dstType, parameterTypes);
+        handle = MethodHandles.filterArguments(handle, 0, getters);
+        handle = MethodHandles.permuteArguments(handle, MethodType.methodType(dstType, Object.class), new int[getters.length]);
+        return GetterFunctionFactory.of(handle);
+    }
+
+    /**
+     * The constructor annotated by {@link MappingConstructor}, or else the canonical constructor of a record.
+     */
+    private static Constructor<?> findConstructor(Class<?> dstType) throws NoSuchMethodException {
+        for (Constructor<?> constructor : dstType.getDeclaredConstructors()) {
+            if (constructor.isAnnotationPresent(MappingConstructor.class)) {
+                return constructor;
+            }
+        }
+
+        if (dstType.isRecord()) {
+            RecordComponent[] components = dstType.getRecordComponents();
+            Class<?>[] parameterTypes = new Class<?>[components.length];
+            for (int i = 0; i < components.length; i++) {
+                parameterTypes[i] = components[i].getType();
+            }
+            return dstType.getDeclaredConstructor(parameterTypes);
+        }
+
+        throw new ConstructorNotFoundException(dstType, "canonical or @MappingConstructor");
+    }
+
+    private static String[] fieldNames(Class<?> dstType, Constructor<?> constructor) {
+        MappingConstructor annotation = constructor.getDeclaredAnnotation(MappingConstructor.class);
+        if (annotation != null && annotation.value().length > 0) {
+            if (annotation.value().length != constructor.getParameterCount()) {
+                throw new ReflectMapException(String.format("@MappingConstructor of %s names %d fields for %d parameters",
+                        dstType.getName(), annotation.value().length, constructor.getParameterCount()));
+            }
+            return annotation.value();
+        }
+
+        if (annotation == null && dstType.isRecord()) {
+            RecordComponent[] components = dstType.getRecordComponents();
+            String[] names = new String[components.length];
+            for (int i = 0; i < components.length; i++) {
+                names[i] = components[i].getName();
+            }
+            return names;
+        }
+
+        Parameter[] parameters = constructor.getParameters();
+        String[] names = new String[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            if (!parameters[i].isNamePresent()) {
+                throw new ReflectMapException(String.format("Parameter names of %s are not available: list the fields "
+                        + "in @MappingConstructor, or compile with -parameters", constructor));
+            }
+            names[i] = parameters[i].getName();
+        }
+        return names;
+    }
+}
@@ -0,0 +1,266 @@
+package com.reflectmap.internal.compiler;
+
+import com.reflectmap.exception.FieldsNotFoundException;
+import com.reflectmap.exception.ReflectMapException;
+import com.reflectmap.internal.CompiledConstructorStore;
+import com.reflectmap.internal.compiler.metafactory.MethodHandleFactory;
+import com.reflectmap.internal.util.IdentityTable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Copies the objects referenced by a deep copy. Every object reached during one copy is recorded in the thread's
+ * {@link IdentityTable}, so an object referenced twice is copied once, and cycles resolve to the copy in progress.
+ *
+ * <p>Referenced objects are copied into a new instance of their runtime class with its compiled no-args constructor,
+ * and their fields are copied with a compiled mapper of the class onto itself. Arrays, collections and maps are
+ * copied element by element. A collection or map is recreated with the public no-args constructor of its runtime
+ * class, or as an {@code ArrayList}, {@code LinkedHashSet} or {@code LinkedHashMap} if it has none, such as
+ * {@code List.of}. Sorted ones keep their comparator, and an {@code EnumSet} or {@code EnumMap} is copied as one. A
+ * field declared as a concrete collection or map class which such a replacement does not fit fails the copy, naming
+ * the field.</p>
+ *
+ * <p>Only enums and known immutable JDK values are shared: {@code String}, boxed primitives, {@code BigDecimal},
+ * {@code BigInteger}, {@code UUID} and {@code java.time} values. Any other JDK type fails the copy, rather than being
+ * shared with the source.</p>
+ */
+final class DeepCopier {
+
+    private DeepCopier() {}
+
+    /**
+     * The handle of {@link #copy(Object)}, spliced after the getter of every reference field.
+     */
+    static final MethodHandle COPY = MethodHandleFactory.of(DeepCopier.class, "copy", MethodType.methodType(Object.class, Object.class));
+
+    private static final MethodHandle CHECKED_COPY = MethodHandleFactory.of(DeepCopier.class, "copy",
+            MethodType.methodType(Object.class, Object.class, Class.class, String.class));
+
+    private static final DeepCopyLambdaCompiler COMPILER = new DeepCopyLambdaCompiler();
+
+    private static final ThreadLocal<IdentityTable> TABLES = ThreadLocal.withInitial(IdentityTable::new);
+
+    private static final Set<Class<?>> IMMUTABLE = Set.of(String.class, Boolean.class, Character.class, Byte.class,
+            Short.class, Integer.class, Long.class, Float.class, Double.class, BigDecimal.class, BigInteger.class, UUID.class);
+
+    private static final ClassValue<Boolean> SHARED = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return Enum.class.isAssignableFrom(type) || IMMUTABLE.contains(type)
+                    || type.getPackageName().equals("java.time") || type.getPackageName().startsWith("java.time.");
+        }
+    };
+
+    /**
+     * The public no-args constructor of a collection or map class, of type ()Object, if it has one.
+     */
+    private static final ClassValue<Optional<MethodHandle>> CONTAINER_CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected Optional<MethodHandle> computeValue(Class<?> type) {
+            try {
+                MethodHandle constructor = MethodHandles.publicLookup().findConstructor(type, MethodType.methodType(void.class));
+                return Optional.of(constructor.asType(MethodType.methodType(Object.class)));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                return Optional.empty();
+            }
+        }
+    };
+
+    private static final ClassValue<BiConsumer<Object, Object>> FIELD_COPIES = new ClassValue<>() {
+        @Override
+        protected BiConsumer<Object, Object> computeValue(Class<?> type) {
+            try {
+                return COMPILER.compileFields(type, type);
+            } catch (FieldsNotFoundException e) {
+                return (src, dst) -> {};
+            } catch (ReflectMapException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException("Failed to compute deep copy of " + type, e);
+            }
+        }
+    };
+
+    /**
+     * Wrap the field copies of a type pair into a complete deep copy. The source object is recorded as copied into
+     * the destination object, and the identity table is cleared once the outermost copy on the thread finishes.
+     */
+    static BiConsumer<Object, Object> session(BiConsumer<Object, Object> fieldCopies) {
+        return (src, dst) -> {
+            IdentityTable table = TABLES.get();
+            table.enter();
+            try {
+                table.put(src, dst);
+                fieldCopies.accept(src, dst);
+            } finally {
+                table.exit();
+            }
+        };
+    }
+
+    /**
+     * The handle of {@link #copy(Object)} for a field of the given type, of type (type)type. Fields declared as a
+     * concrete collection or map class also check that the copy fits the field.
+     */
+    static MethodHandle copyOf(Class<?> type, Class<?> owner, String fieldName) {
+        MethodHandle copy = COPY;
+        if (!type.isInterface() && (Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type))) {
+            copy = MethodHandles.insertArguments(CHECKED_COPY, 1, type, owner.getName() + "." + fieldName);
+        }
+        return copy.asType(MethodType.methodType(type, type));
+    }
+
+    @SuppressWarnings("unused")
+    private static Object copy(Object value, Class<?> type, String field) {
+        Object copy = copy(value);
+        if (copy != null && !type.isInstance(copy)) {
+            throw new ReflectMapException(String.format("Cannot deep copy field %s: %s has no public no-args constructor, "
+                    + "and its copy as %s is not a %s", field, value.getClass().getName(), copy.getClass().getName(), type.getName()));
+        }
+        return copy;
+    }
+
+    @SuppressWarnings("unused")
+    private static Object copy(Object value) {
+        if (value == null || SHARED.get(value.getClass())) {
+            return value;
+        }
+
+        IdentityTable table = TABLES.get();
+        Object copy = table.get(value);
+        if (copy != null) {
+            return copy;
+        }
+
+        Class<?> type = value.getClass();
+        if (type.isArray()) {
+            return copyArray(value, type, table);
+        }
+        if (value instanceof Collection<?> collection) {
+            return copyCollection(collection, table);
+        }
+        if (value instanceof Map<?, ?> map) {
+            return copyMap(map, table);
+        }
+        if (isJdkType(type)) {
+            throw new ReflectMapException(String.format("Cannot deep copy %s: only collections, maps, arrays and immutable "
+                    + "values such as String are supported among JDK types", type.getName()));
+        }
+
+        copy = CompiledConstructorStore.INSTANCE.get(type).get();
+        table.put(value, copy);
+        FIELD_COPIES.get(type).accept(value, copy);
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object copyCollection(Collection<?> value, IdentityTable table) {
+        if (value instanceof EnumSet<?> enumSet) {
+            EnumSet<?> copy = EnumSet.copyOf(enumSet);
+            table.put(value, copy);
+            return copy;
+        }
+
+        Collection<Object> copy;
+        if (value instanceof SortedSet<?> sorted) {
+            copy = new TreeSet<>((Comparator<Object>) sorted.comparator());
+        } else {
+            copy = (Collection<Object>) newContainer(value.getClass());
+            if (copy == null) {
+                copy = value instanceof Set<?> ? new LinkedHashSet<>() : new ArrayList<>();
+            }
+        }
+
+        table.put(value, copy);
+        for (Object element : value) {
+            copy.add(copy(element));
+        }
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object copyMap(Map<?, ?> value, IdentityTable table) {
+        Map<Object, Object> copy;
+        if (value instanceof EnumMap<?, ?> enumMap) {
+            EnumMap<?, Object> enumCopy = new EnumMap<>(enumMap);
+            table.put(value, enumCopy);
+            enumCopy.replaceAll((key, element) -> copy(element));
+            return enumCopy;
+        }
+        if (value instanceof SortedMap<?, ?> sorted) {
+            copy = new TreeMap<>((Comparator<Object>) sorted.comparator());
+        } else {
+            copy = (Map<Object, Object>) newContainer(value.getClass());
+            if (copy == null) {
+                copy = new LinkedHashMap<>();
+            }
+        }
+
+        table.put(value, copy);
+        for (Map.Entry<?, ?> entry : value.entrySet()) {
+            copy.put(copy(entry.getKey()), copy(entry.getValue()));
+        }
+        return copy;
+    }
+
+    /**
+     * A new empty instance of a collection or map class, or null if it has no public no-args constructor.
+     */
+    private static Object newContainer(Class<?> type) {
+        MethodHandle constructor = CONTAINER_CONSTRUCTORS.get(type).orElse(null);
+        if (constructor == null) {
+            return null;
+        }
+        try {
+            return (Object) constructor.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to create " + type.getName(), e);
+        }
+    }
+
+    private static boolean isJdkType(Class<?> type) {
+        String packageName = type.getPackageName();
+        return packageName.startsWith("java.") || packageName.startsWith("javax.") || packageName.startsWith("jdk.")
+                || packageName.startsWith("sun.");
+    }
+
+    private static Object copyArray(Object value, Class<?> type, IdentityTable table) {
+        if (type.getComponentType().isPrimitive()) {
+            int length = Array.getLength(value);
+            Object copy = Array.newInstance(type.getComponentType(), length);
+            System.arraycopy(value, 0, copy, 0, length);
+            table.put(value, copy);
+            return copy;
+        }
+
+        Object[] copy = ((Object[]) value).clone();
+        table.put(value, copy);
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = copy(copy[i]);
+        }
+        return copy;
+    }
+}
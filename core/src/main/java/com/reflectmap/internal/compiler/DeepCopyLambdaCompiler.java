@@ -0,0 +1,62 @@
+package com.reflectmap.internal.compiler;
+
+import com.reflectmap.internal.metadata.FieldMetadata;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.function.BiConsumer;
+
+/**
+ * Copies fields with the same name, like {@link DirectCopyLambdaCompiler}, but passes the value of every reference
+ * field through {@link DeepCopier}, so the destination shares no mutable objects with the source.
+ */
+final class DeepCopyLambdaCompiler extends AbstractLambdaCompiler {
+
+    @Override
+    public BiConsumer<Object, Object> compile(Class<?> srcType, Class<?> dstType) throws Throwable {
+        return DeepCopier.session(compileFields(srcType, dstType));
+    }
+
+    @Override
+    public BiConsumer<Object, Object> interpret(Class<?> srcType, Class<?> dstType) throws Throwable {
+        return DeepCopier.session(super.interpret(srcType, dstType));
+    }
+
+    /**
+     * Compiles the field copies alone, for objects copied within an enclosing deep copy.
+     */
+    BiConsumer<Object, Object> compileFields(Class<?> srcType, Class<?> dstType) throws Throwable {
+        return super.compile(srcType, dstType);
+    }
+
+    @Override
+    protected LambdaCompilerInstruction createInstruction(Class<?> srcType, Class<?> dstType, FieldMetadata dstField) throws IllegalAccessException {
+        MethodHandle getter = resolveGetterHandle(srcType, dstField);
+        if (getter == null) {
+            return null;
+        }
+
+        MethodHandle setter;
+        try {
+            setter = createSetterHandle(dstType, dstField);
+        } catch (NoSuchFieldException e) {
+            return null;
+        }
+
+        Class<?> type = getter.type().returnType();
+        if (!type.isPrimitive()) {
+            getter = MethodHandles.filterReturnValue(getter, DeepCopier.copyOf(type, dstType, dstField.name()));
+        }
+
+        return new LambdaCompilerInstruction(getter, setter, srcType, dstType, dstField.name());
+    }
+
+    @Override
+    protected MethodHandle resolveGetterHandle(Class<?> srcType, FieldMetadata dstField) throws IllegalAccessException {
+        try {
+            return createGetterHandle(srcType, dstField.name());
+        } catch (NoSuchFieldException e) {
+            return null;
+        }
+    }
+}
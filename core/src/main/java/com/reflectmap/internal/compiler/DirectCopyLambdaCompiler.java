@@ -1,22 +1,27 @@
 package com.reflectmap.internal.compiler;
 
+import com.reflectmap.internal.metadata.FieldMetadata;
+
 import java.lang.invoke.MethodHandle;
-import java.lang.reflect.Field;
 
 final class DirectCopyLambdaCompiler extends AbstractLambdaCompiler {
 
     @Override
-    protected LambdaCompilerInstruction createInstruction(Class<?> srcType, Class<?> dstType, Field dstField) throws IllegalAccessException {
-        MethodHandle getter = createGetterHandle(srcType, dstField.getName());
+    protected LambdaCompilerInstruction createInstruction(Class<?> srcType, Class<?> dstType, FieldMetadata dstField) throws IllegalAccessException {
+        MethodHandle getter = resolveGetterHandle(srcType, dstField);
         MethodHandle setter = createSetterHandle(dstType, dstField);
 
         if (getter == null || setter == null) {
             return null;
         }
 
-        return new LambdaCompilerInstruction(getter, setter, srcType, dstType);
+        return new LambdaCompilerInstruction(getter, setter, srcType, dstType, dstField.name());
     }
 
+    @Override
+    protected MethodHandle resolveGetterHandle(Class<?> srcType, FieldMetadata dstField) throws IllegalAccessException {
+        return createGetterHandle(srcType, dstField.name());
+    }
 
     @Override
     protected MethodHandle createGetterHandle(Class<?> srcType, String srcFieldName) throws IllegalAccessException {
@@ -28,7 +33,7 @@ final class DirectCopyLambdaCompiler extends AbstractLambdaCompiler {
     }
 
     @Override
-    protected MethodHandle createSetterHandle(Class<?> dstType, Field dstField) throws IllegalAccessException {
+    protected MethodHandle createSetterHandle(Class<?> dstType, FieldMetadata dstField) throws IllegalAccessException {
         try {
             return super.createSetterHandle(dstType, dstField);
         } catch (NoSuchFieldException e) {
@@ -0,0 +1,51 @@
+package com.reflectmap.internal.compiler;
+
+import com.reflectmap.internal.metadata.FieldMetadata;
+
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+
+/**
+ * Merges the instructions of several compilers into a single plan. Each destination field is resolved by the first
+ * compiler, in precedence order, that produces an instruction for it, so every field is read and written exactly once.
+ */
+final class FusedLambdaCompiler extends AbstractLambdaCompiler {
+
+    private final List<AbstractLambdaCompiler> compilers;
+
+    FusedLambdaCompiler(AbstractLambdaCompiler... compilers) {
+        this.compilers = List.of(compilers);
+    }
+
+    @Override
+    protected LambdaCompilerInstruction createInstruction(Class<?> srcType, Class<?> dstType, FieldMetadata dstField) throws IllegalAccessException {
+        for (AbstractLambdaCompiler compiler : compilers) {
+            LambdaCompilerInstruction instruction = compiler.createInstruction(srcType, dstType, dstField);
+            if (instruction != null) {
+                return instruction;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected MethodHandle resolveGetterHandle(Class<?> srcType, FieldMetadata dstField) throws IllegalAccessException {
+        for (AbstractLambdaCompiler compiler : compilers) {
+            MethodHandle getter = compiler.resolveGetterHandle(srcType, dstField);
+            if (getter != null) {
+                return getter;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected String[] dstFieldNames(Class<?> srcType, FieldMetadata dstField) throws IllegalAccessException {
+        for (AbstractLambdaCompiler compiler : compilers) {
+            if (compiler.resolveGetterHandle(srcType, dstField) != null) {
+                return compiler.dstFieldNames(srcType, dstField);
+            }
+        }
+        return super.dstFieldNames(srcType, dstField);
+    }
+}
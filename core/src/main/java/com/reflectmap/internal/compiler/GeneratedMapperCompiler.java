@@ -0,0 +1,97 @@
+package com.reflectmap.internal.compiler;
+
+import com.reflectmap.internal.CompilationScope;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ * Prefers mappers generated at build time by {@code reflectmap-processor}, and only falls back to compiling at runtime
+ * when no such mapper exists for the type pair.
+ *
+ * <p>A generated mapper is a public class implementing {@code BiConsumer<Object, Object>}, declared in the package of
+ * the destination type and named by {@link #className(Class, Class)}. Loading it needs no field reflection,
+ * private lookups or lambda spinning.</p>
+ */
+final class GeneratedMapperCompiler implements Compiler<BiConsumer<Object, Object>> {
+
+    /**
+     * Must match {@code MapperSourceWriter.SEPARATOR} in the processor module.
+     */
+    static final String SEPARATOR = "$$ReflectMap$$";
+
+    /**
+     * The public static int constant of a generated mapper holding the number of fields it writes. Must match
+     * {@code MapperSourceWriter.FIELD_COUNT} in the processor module.
+     */
+    static final String FIELD_COUNT = "FIELD_COUNT";
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(void.class);
+
+    /**
+     * The generated mapper of each pair, or empty if there is none, keyed by source type and then destination type so
+     * the class is held by its own destination type. The class is only looked up when its resource exists, and is
+     * loaded without being initialized.
+     */
+    private static final ClassValue<ClassValue<Optional<Class<?>>>> GENERATED = new ClassValue<>() {
+        @Override
+        protected ClassValue<Optional<Class<?>>> computeValue(Class<?> srcType) {
+            return new ClassValue<>() {
+                @Override
+                protected Optional<Class<?>> computeValue(Class<?> dstType) {
+                    return Optional.ofNullable(load(srcType, dstType));
+                }
+            };
+        }
+    };
+
+    private final Compiler<BiConsumer<Object, Object>> fallback;
+
+    GeneratedMapperCompiler(Compiler<BiConsumer<Object, Object>> fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public BiConsumer<Object, Object> compile(Class<?> srcType, Class<?> dstType) throws Throwable {
+        Class<?> generated = find(srcType, dstType);
+        if (generated == null || !BiConsumer.class.isAssignableFrom(generated)) {
+            return fallback.compile(srcType, dstType);
+        }
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        CompilationScope.fieldsMapped((int) lookup.findStaticGetter(generated, FIELD_COUNT, int.class).invoke());
+        return (BiConsumer<Object, Object>) lookup.findConstructor(generated, CONSTRUCTOR_TYPE).invoke();
+    }
+
+    /**
+     * Loading a generated mapper is already cheap, so only pairs without one are interpreted.
+     */
+    @Override
+    public BiConsumer<Object, Object> interpret(Class<?> srcType, Class<?> dstType) throws Throwable {
+        return find(srcType, dstType) == null ? fallback.interpret(srcType, dstType) : null;
+    }
+
+    static String className(Class<?> srcType, Class<?> dstType) {
+        return dstType.getName() + SEPARATOR + srcType.getName().replace('.', '_');
+    }
+
+    private static Class<?> find(Class<?> srcType, Class<?> dstType) {
+        return GENERATED.get(srcType).get(dstType).orElse(null);
+    }
+
+    private static Class<?> load(Class<?> srcType, Class<?> dstType) {
+        ClassLoader loader = dstType.getClassLoader();
+        String className = className(srcType, dstType);
+        if (loader == null || loader.getResource(className.replace('.', '/') + ".class") == null) {
+            return null;
+        }
+
+        try {
+            return Class.forName(className, false, loader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+}
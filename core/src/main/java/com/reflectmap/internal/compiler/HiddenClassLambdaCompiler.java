@@ -0,0 +1,27 @@
+package com.reflectmap.internal.compiler;
+
+import com.reflectmap.internal.compiler.metafactory.HiddenClassBiConsumerFactory;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Compiles every field resolved by another compiler into a single hidden class, rather than a tree of lambdas.
+ */
+final class HiddenClassLambdaCompiler implements Compiler<BiConsumer<Object, Object>> {
+
+    private final AbstractLambdaCompiler planner;
+
+    HiddenClassLambdaCompiler(AbstractLambdaCompiler planner) {
+        this.planner = planner;
+    }
+
+    @Override
+    public BiConsumer<Object, Object> compile(Class<?> srcType, Class<?> dstType) throws Throwable {
+        return HiddenClassBiConsumerFactory.of(planner.createInstructions(srcType, dstType));
+    }
+
+    @Override
+    public BiConsumer<Object, Object> interpret(Class<?> srcType, Class<?> dstType) throws Throwable {
+        return planner.interpret(srcType, dstType);
+    }
+}
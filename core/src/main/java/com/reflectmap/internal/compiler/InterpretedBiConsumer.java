@@ -0,0 +1,41 @@
+package com.reflectmap.internal.compiler;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Executes resolved instructions one after another through their method handles, without spinning a lambda or
+ * class for the type pair. Every value travels as {@code Object}, so primitives are boxed.
+ */
+final class InterpretedBiConsumer implements BiConsumer<Object, Object> {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final MethodHandle[] getters;
+    private final MethodHandle[] setters;
+
+    InterpretedBiConsumer(List<LambdaCompilerInstruction> instructions) {
+        this.getters = new MethodHandle[instructions.size()];
+        this.setters = new MethodHandle[instructions.size()];
+        for (int i = 0; i < instructions.size(); i++) {
+            getters[i] = instructions.get(i).getter().asType(GETTER_TYPE);
+            setters[i] = instructions.get(i).setter().asType(SETTER_TYPE);
+        }
+    }
+
+    @Override
+    public void accept(Object src, Object dst) {
+        try {
+            for (int i = 0; i < getters.length; i++) {
+                setters[i].invokeExact(dst, getters[i].invokeExact(src));
+            }
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
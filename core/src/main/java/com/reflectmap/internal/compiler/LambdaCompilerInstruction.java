@@ -1,20 +1,35 @@
 package com.reflectmap.internal.compiler;
 
+import com.reflectmap.internal.converter.ConverterRegistry;
 import com.reflectmap.internal.util.TypeUtils;
 import com.reflectmap.exception.IncompatibleFieldTypesException;
 
 import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 
 public record LambdaCompilerInstruction(MethodHandle getter, MethodHandle setter, Class<?> srcType) {
 
-    public LambdaCompilerInstruction(MethodHandle getter, MethodHandle setter, Class<?> srcType, Class<?> dstType) {
-        this(getter, setter, srcType);
+    public LambdaCompilerInstruction(MethodHandle getter, MethodHandle setter, Class<?> srcType, Class<?> dstType, String dstFieldName) {
+        this(convert(getter, setter.type().lastParameterType(), srcType, dstType, dstFieldName), setter, srcType);
+    }
 
+    /**
+     * Adapts a getter to a destination field type it is not compatible with, by splicing a converter after it.
+     *
+     * @param dstFieldName The destination field or constructor parameter the value is written to, for error reporting.
+     * @return The getter itself if the types are compatible, otherwise the getter filtered through the converter.
+     * @throws IncompatibleFieldTypesException if there is no converter between the types.
+     */
+    static MethodHandle convert(MethodHandle getter, Class<?> setterFieldType, Class<?> srcType, Class<?> dstType, String dstFieldName) {
         Class<?> getterFieldType = getter.type().returnType();
-        Class<?> setterFieldType = setter.type().lastParameterType();
+        if (TypeUtils.isTypeCompatible(getterFieldType, setterFieldType)) {
+            return getter;
+        }
 
-        if (!TypeUtils.isTypeCompatible(getterFieldType, setterFieldType)) {
-            throw new IncompatibleFieldTypesException(srcType, srcType.getName(), dstType, dstType.getName());
+        MethodHandle converter = ConverterRegistry.find(getterFieldType, setterFieldType);
+        if (converter == null) {
+            throw new IncompatibleFieldTypesException(srcType, srcType.getName(), dstType, dstFieldName);
         }
+        return MethodHandles.filterReturnValue(getter, converter);
     }
 }
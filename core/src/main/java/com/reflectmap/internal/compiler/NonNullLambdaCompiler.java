@@ -0,0 +1,61 @@
+package com.reflectmap.internal.compiler;
+
+import com.reflectmap.internal.compiler.metafactory.NullSkippingSetterFactory;
+import com.reflectmap.internal.metadata.FieldMetadata;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Plans the same fields as another compiler, but a null source value leaves its destination field untouched, for
+ * PATCH-style merges. Primitive source fields are always copied.
+ *
+ * <p>The null check runs on the raw source value, before any conversion, so a null {@code Integer} is skipped rather
+ * than converted into a zero {@code int}. The guarded setter converts and writes the value only when it is
+ * non-null.</p>
+ */
+final class NonNullLambdaCompiler extends AbstractLambdaCompiler {
+
+    private final AbstractLambdaCompiler planner;
+
+    NonNullLambdaCompiler(AbstractLambdaCompiler planner) {
+        this.planner = planner;
+    }
+
+    @Override
+    protected LambdaCompilerInstruction createInstruction(Class<?> srcType, Class<?> dstType, FieldMetadata dstField) throws IllegalAccessException {
+        LambdaCompilerInstruction instruction = planner.createInstruction(srcType, dstType, dstField);
+        if (instruction == null) {
+            return null;
+        }
+
+        MethodHandle getter = planner.resolveGetterHandle(srcType, dstField);
+        Class<?> valueType = getter.type().returnType();
+        if (valueType.isPrimitive()) {
+            return instruction;
+        }
+
+        MethodHandle setter = instruction.setter();
+        Class<?> fieldType = setter.type().lastParameterType();
+        MethodHandle converter = LambdaCompilerInstruction.convert(MethodHandles.identity(valueType), fieldType, srcType, dstType, dstField.name())
+                .asType(MethodType.methodType(fieldType, valueType));
+        MethodHandle convertingSetter = MethodHandles.filterArguments(setter, 1, converter);
+        return new LambdaCompilerInstruction(getter, NullSkippingSetterFactory.of(convertingSetter), srcType);
+    }
+
+    @Override
+    protected void checkDstType(Class<?> dstType) {
+        planner.checkDstType(dstType);
+    }
+
+    @Override
+    protected MethodHandle resolveGetterHandle(Class<?> srcType, FieldMetadata dstField) throws IllegalAccessException {
+        return planner.resolveGetterHandle(srcType, dstField);
+    }
+
+    @Override
+    protected String[] dstFieldNames(Class<?> srcType, FieldMetadata dstField) throws IllegalAccessException {
+        return planner.dstFieldNames(srcType, dstField);
+    }
+}
@@ -0,0 +1,65 @@
+package com.reflectmap.internal.compiler;
+
+import com.reflectmap.exception.FieldNotFoundException;
+import com.reflectmap.internal.metadata.ClassMetadata;
+import com.reflectmap.internal.metadata.FieldMappingMetadata;
+import com.reflectmap.internal.metadata.FieldMetadata;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Set;
+
+/**
+ * Restricts another compiler to a subset of the destination fields: those whose mapping lists a group, or those
+ * with one of the given names. Every other field is left out of the plan, so it is neither read nor written.
+ *
+ * <p>A name that is not a field of the destination type fails the compilation with a {@link FieldNotFoundException},
+ * so a typo is not silently projected away.</p>
+ */
+final class ProjectionLambdaCompiler extends AbstractLambdaCompiler {
+
+    private final AbstractLambdaCompiler planner;
+    private final String group;
+    private final Set<String> fieldNames;
+
+    ProjectionLambdaCompiler(AbstractLambdaCompiler planner, String group, Set<String> fieldNames) {
+        this.planner = planner;
+        this.group = group;
+        this.fieldNames = fieldNames;
+    }
+
+    @Override
+    protected void checkDstType(Class<?> dstType) {
+        ClassMetadata metadata = ClassMetadata.of(dstType);
+        for (String fieldName : fieldNames) {
+            try {
+                metadata.field(fieldName);
+            } catch (NoSuchFieldException e) {
+                throw new FieldNotFoundException(dstType.getName(), fieldName);
+            }
+        }
+        planner.checkDstType(dstType);
+    }
+
+    @Override
+    protected LambdaCompilerInstruction createInstruction(Class<?> srcType, Class<?> dstType, FieldMetadata dstField) throws IllegalAccessException {
+        return isProjected(srcType, dstField) ? planner.createInstruction(srcType, dstType, dstField) : null;
+    }
+
+    @Override
+    protected MethodHandle resolveGetterHandle(Class<?> srcType, FieldMetadata dstField) throws IllegalAccessException {
+        return isProjected(srcType, dstField) ? planner.resolveGetterHandle(srcType, dstField) : null;
+    }
+
+    @Override
+    protected String[] dstFieldNames(Class<?> srcType, FieldMetadata dstField) throws IllegalAccessException {
+        return planner.dstFieldNames(srcType, dstField);
+    }
+
+    private boolean isProjected(Class<?> srcType, FieldMetadata dstField) {
+        if (group == null) {
+            return fieldNames.contains(dstField.name());
+        }
+        FieldMappingMetadata mapping = dstField.mapping(srcType);
+        return mapping != null && mapping.groups().contains(group);
+    }
+}
@@ -0,0 +1,228 @@
+package com.reflectmap.internal.compiler.metafactory;
+
+import com.reflectmap.internal.CompilationScope;
+import com.reflectmap.internal.compiler.LambdaCompilerInstruction;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.ToLongBiFunction;
+
+public final class ChangeMaskFactory {
+
+    private ChangeMaskFactory() {}
+
+    /**
+     * Corresponds to {@link #of(List)}, which binds the root of the OR tree.
+     */
+    private static final MethodType FACTORY_TYPE = MethodType.methodType(ToLongBiFunction.class, MethodHandle.class);
+
+    private static final CallSite CALL_SITE;
+    static {
+        try {
+            CALL_SITE = LambdaMetafactory.metafactory(
+                    PrivateLookupUtils.privateLookupIn(ChangeMask.class),
+                    ChangeMask.METHOD_NAME,
+                    FACTORY_TYPE,
+                    ChangeMask.METHOD_TYPE.erase(),
+                    MethodHandles.exactInvoker(ChangeMask.METHOD_TYPE),
+                    ChangeMask.METHOD_TYPE
+            );
+        } catch (Throwable e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Compile the compare-then-write of a single field, of type (Object, Object)long. The source value is compared
+     * with the destination's current value, by value for primitives and by identity for references, and is only
+     * written when they differ.
+     *
+     * @param instruction The resolved copy of the field.
+     * @param current A getter of the destination's current value, of type (dstType)T for the setter's T.
+     * @param bit The index of the bit returned when the field changes, from 0 to 63.
+     * @return A handle returning the field's bit if it was written, otherwise zero.
+     */
+    public static MethodHandle field(LambdaCompilerInstruction instruction, MethodHandle current, int bit) {
+        Class<?> setterType = instruction.setter().type().lastParameterType();
+        Class<?> carrierType = setterType.isPrimitive() ? setterType : Object.class;
+
+        MethodHandle getter = instruction.getter().asType(MethodType.methodType(carrierType, Object.class));
+        MethodHandle reader = current.asType(MethodType.methodType(carrierType, Object.class));
+        MethodHandle setter = instruction.setter().asType(MethodType.methodType(void.class, Object.class, carrierType));
+        return MethodHandles.insertArguments(CompareAndWrite.HANDLES.get(carrierType), 0, getter, reader, setter, 1L << bit);
+    }
+
+    /**
+     * Combine field handles into a single function returning the OR of their bits. The handles are reduced pairwise,
+     * like {@link CompositeBiConsumerFactory}, so the tree is balanced and every field runs in the order given.
+     */
+    @SuppressWarnings("unchecked")
+    public static ToLongBiFunction<Object, Object> of(List<MethodHandle> fields) throws Throwable {
+        Queue<MethodHandle> handles = new ArrayDeque<>(fields);
+        while (handles.size() > 1) {
+            int size = handles.size();
+            for (int i = 0; i < size / 2; i++) {
+                handles.offer(MethodHandles.insertArguments(Or.HANDLE, 0, handles.poll(), handles.poll()));
+            }
+            if ((size & 1) == 1) {
+                handles.offer(handles.poll());
+            }
+        }
+
+        CompilationScope.lambdaCreated();
+        return (ToLongBiFunction<Object, Object>) CALL_SITE.getTarget().invokeExact(handles.poll());
+    }
+
+    private static final class ChangeMask {
+        private ChangeMask() {}
+
+        /**
+         * The name of {@link #applyAsLong(Object, Object)}.
+         */
+        static final String METHOD_NAME = "applyAsLong";
+
+        /**
+         * Corresponds to {@link #applyAsLong(Object, Object)}, and to every field handle and subtree of the OR tree.
+         */
+        static final MethodType METHOD_TYPE = MethodType.methodType(long.class, Object.class, Object.class);
+
+        @SuppressWarnings("unused")
+        public static long applyAsLong(Object src, Object dst) {
+            throw new UnsupportedOperationException("This method should never be called directly.");
+        }
+    }
+
+    private static final class Or {
+        private Or() {}
+
+        static final MethodHandle HANDLE = MethodHandleFactory.of(Or.class, "or",
+                MethodType.methodType(long.class, MethodHandle.class, MethodHandle.class, Object.class, Object.class));
+
+        @SuppressWarnings("unused")
+        public static long or(MethodHandle a, MethodHandle b, Object src, Object dst) throws Throwable {
+            return (long) a.invokeExact(src, dst) | (long) b.invokeExact(src, dst);
+        }
+    }
+
+    private static final class CompareAndWrite {
+        private CompareAndWrite() {}
+
+        static final Map<Class<?>, MethodHandle> HANDLES;
+        static {
+            Class<?> memberClass = CompareAndWrite.class;
+            MethodType writeType = MethodType.methodType(long.class, MethodHandle.class, MethodHandle.class, MethodHandle.class,
+                    long.class, Object.class, Object.class);
+            HANDLES = Map.of(
+                    boolean.class, MethodHandleFactory.of(memberClass, "writeBoolean", writeType),
+                    byte.class, MethodHandleFactory.of(memberClass, "writeByte", writeType),
+                    char.class, MethodHandleFactory.of(memberClass, "writeChar", writeType),
+                    short.class, MethodHandleFactory.of(memberClass, "writeShort", writeType),
+                    int.class, MethodHandleFactory.of(memberClass, "writeInt", writeType),
+                    long.class, MethodHandleFactory.of(memberClass, "writeLong", writeType),
+                    float.class, MethodHandleFactory.of(memberClass, "writeFloat", writeType),
+                    double.class, MethodHandleFactory.of(memberClass, "writeDouble", writeType),
+                    Object.class, MethodHandleFactory.of(memberClass, "writeObject", writeType)
+            );
+        }
+
+        @SuppressWarnings("unused")
+        public static long writeBoolean(MethodHandle getter, MethodHandle current, MethodHandle setter, long bit, Object src, Object dst) throws Throwable {
+            boolean value = (boolean) getter.invokeExact(src);
+            if (value == (boolean) current.invokeExact(dst)) {
+                return 0L;
+            }
+            setter.invokeExact(dst, value);
+            return bit;
+        }
+
+        @SuppressWarnings("unused")
+        public static long writeByte(MethodHandle getter, MethodHandle current, MethodHandle setter, long bit, Object src, Object dst) throws Throwable {
+            byte value = (byte) getter.invokeExact(src);
+            if (value == (byte) current.invokeExact(dst)) {
+                return 0L;
+            }
+            setter.invokeExact(dst, value);
+            return bit;
+        }
+
+        @SuppressWarnings("unused")
+        public static long writeChar(MethodHandle getter, MethodHandle current, MethodHandle setter, long bit, Object src, Object dst) throws Throwable {
+            char value = (char) getter.invokeExact(src);
+            if (value == (char) current.invokeExact(dst)) {
+                return 0L;
+            }
+            setter.invokeExact(dst, value);
+            return bit;
+        }
+
+        @SuppressWarnings("unused")
+        public static long writeShort(MethodHandle getter, MethodHandle current, MethodHandle setter, long bit, Object src, Object dst) throws Throwable {
+            short value = (short) getter.invokeExact(src);
+            if (value == (short) current.invokeExact(dst)) {
+                return 0L;
+            }
+            setter.invokeExact(dst, value);
+            return bit;
+        }
+
+        @SuppressWarnings("unused")
+        public static long writeInt(MethodHandle getter, MethodHandle current, MethodHandle setter, long bit, Object src, Object dst) throws Throwable {
+            int value = (int) getter.invokeExact(src);
+            if (value == (int) current.invokeExact(dst)) {
+                return 0L;
+            }
+            setter.invokeExact(dst, value);
+            return bit;
+        }
+
+        @SuppressWarnings("unused")
+        public static long writeLong(MethodHandle getter, MethodHandle current, MethodHandle setter, long bit, Object src, Object dst) throws Throwable {
+            long value = (long) getter.invokeExact(src);
+            if (value == (long) current.invokeExact(dst)) {
+                return 0L;
+            }
+            setter.invokeExact(dst, value);
+            return bit;
+        }
+
+        /**
+         * Floating point values compare by their bits, so NaN is unchanged and a sign flip of zero is a change.
+         */
+        @SuppressWarnings("unused")
+        public static long writeFloat(MethodHandle getter, MethodHandle current, MethodHandle setter, long bit, Object src, Object dst) throws Throwable {
+            float value = (float) getter.invokeExact(src);
+            if (Float.floatToRawIntBits(value) == Float.floatToRawIntBits((float) current.invokeExact(dst))) {
+                return 0L;
+            }
+            setter.invokeExact(dst, value);
+            return bit;
+        }
+
+        @SuppressWarnings("unused")
+        public static long writeDouble(MethodHandle getter, MethodHandle current, MethodHandle setter, long bit, Object src, Object dst) throws Throwable {
+            double value = (double) getter.invokeExact(src);
+            if (Double.doubleToRawLongBits(value) == Double.doubleToRawLongBits((double) current.invokeExact(dst))) {
+                return 0L;
+            }
+            setter.invokeExact(dst, value);
+            return bit;
+        }
+
+        @SuppressWarnings("unused")
+        public static long writeObject(MethodHandle getter, MethodHandle current, MethodHandle setter, long bit, Object src, Object dst) throws Throwable {
+            Object value = (Object) getter.invokeExact(src);
+            if (value == (Object) current.invokeExact(dst)) {
+                return 0L;
+            }
+            setter.invokeExact(dst, value);
+            return bit;
+        }
+    }
+}
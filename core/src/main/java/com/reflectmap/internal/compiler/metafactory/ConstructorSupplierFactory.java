@@ -0,0 +1,64 @@
+package com.reflectmap.internal.compiler.metafactory;
+
+import java.lang.invoke.*;
+import java.util.function.Supplier;
+
+public final class ConstructorSupplierFactory {
+
+    private ConstructorSupplierFactory() {}
+
+    /**
+     * Corresponds to {@link #of(MethodHandle)}.
+     */
+    private static final MethodType FACTORY_TYPE = MethodType.methodType(Supplier.class, MethodHandle.class);
+
+    private static final CallSite CALL_SITE;
+    static {
+        try {
+            CALL_SITE = LambdaMetafactory.metafactory(
+                    PrivateLookupUtils.privateLookupIn(ConstructorSupplier.class),
+                    ConstructorSupplier.METHOD_NAME,
+                    FACTORY_TYPE,
+                    ConstructorSupplier.METHOD_TYPE.erase(),
+                    MethodHandles.exactInvoker(ConstructorSupplier.METHOD_TYPE),
+                    ConstructorSupplier.METHOD_TYPE
+            );
+        } catch (Throwable e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Converts the given constructor MethodHandle to a Supplier<Object>.
+     * The passed constructor is adapted to the signature ()Object.
+     */
+    @SuppressWarnings("unchecked")
+    public static Supplier<Object> of(MethodHandle handle) throws Throwable {
+        handle = handle.asType(ConstructorSupplier.METHOD_TYPE);
+        return (Supplier<Object>) CALL_SITE.getTarget().invokeExact(handle);
+    }
+
+    private static final class ConstructorSupplier {
+
+        private ConstructorSupplier() {}
+
+        /**
+         * The name of {@link #get()}.
+         */
+        static final String METHOD_NAME = "get";
+
+        /**
+         * The signature of {@link #get()}.
+         */
+        static final MethodType METHOD_TYPE = MethodType.methodType(Object.class);
+
+        /**
+         * This is a placeholder for the target (SAM) method where LambdaMetaFactory will be bind the constructor to.
+         */
+        @SuppressWarnings("unused")
+        public static Object get() {
+            throw new UnsupportedOperationException("This method should never be called directly.");
+        }
+
+    }
+}
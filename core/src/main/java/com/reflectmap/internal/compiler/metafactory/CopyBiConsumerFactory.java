@@ -2,6 +2,10 @@ package com.reflectmap.internal.compiler.metafactory;
 
 import com.reflectmap.internal.compiler.LambdaCompilerInstruction;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
@@ -12,11 +16,20 @@ public final class CopyBiConsumerFactory {
     /**
      * Compile a copying consumer from a resolved instruction.
      *
+     * <p>When the getter and the setter agree on a primitive type, the copy is compiled through a consumer specialized
+     * for that primitive, so the value is never boxed. Every other field is copied through {@code Object}.</p>
+     *
      * @param instruction An instruction resolved by another part of the compiler.
      * @return A consumer that, when executed, performs copies from a source field to a destination field.
      * @throws Throwable Thrown if a method handle invocation fails.
      */
     public static BiConsumer<Object, Object> of(LambdaCompilerInstruction instruction) throws Throwable {
+        Class<?> getterType = instruction.getter().type().returnType();
+        Class<?> setterType = instruction.setter().type().lastParameterType();
+        if (getterType.isPrimitive() && getterType == setterType) {
+            return ofPrimitive(instruction.getter(), instruction.setter(), getterType);
+        }
+
         Function<Object, Object> getter = GetterFunctionFactory.of(instruction.getter());
         BiConsumer<Object, Object> setter = SetterBiConsumerFactory.of(instruction.setter());
         return of(getter, setter);
@@ -28,4 +41,75 @@ public final class CopyBiConsumerFactory {
     private static BiConsumer<Object, Object> of(Function<Object, Object> getter, BiConsumer<Object, Object> setter) {
         return (src, dst) -> setter.accept(dst, getter.apply(src));
     }
-}
\ No newline at end of file
+
+    /**
+     * Bind the getter and setter to the copy method for their primitive type.
+     * The getter is adapted to (Object)T and the setter to (Object, T)void.
+     */
+    private static BiConsumer<Object, Object> ofPrimitive(MethodHandle getter, MethodHandle setter, Class<?> type) throws Throwable {
+        getter = getter.asType(MethodType.methodType(type, Object.class));
+        setter = setter.asType(MethodType.methodType(void.class, Object.class, type));
+        MethodHandle handle = MethodHandles.insertArguments(PrimitiveCopyConsumer.HANDLES.get(type), 0, getter, setter);
+        return InvokedBiConsumerFactory.of(handle);
+    }
+
+    private static final class PrimitiveCopyConsumer {
+        private PrimitiveCopyConsumer() {}
+
+        static final Map<Class<?>, MethodHandle> HANDLES;
+        static {
+            Class<?> memberClass = PrimitiveCopyConsumer.class;
+            MethodType consumerType = MethodType.methodType(void.class, MethodHandle.class, MethodHandle.class, Object.class, Object.class);
+            HANDLES = Map.of(
+                    boolean.class, MethodHandleFactory.of(memberClass, "copyBoolean", consumerType),
+                    byte.class, MethodHandleFactory.of(memberClass, "copyByte", consumerType),
+                    char.class, MethodHandleFactory.of(memberClass, "copyChar", consumerType),
+                    short.class, MethodHandleFactory.of(memberClass, "copyShort", consumerType),
+                    int.class, MethodHandleFactory.of(memberClass, "copyInt", consumerType),
+                    long.class, MethodHandleFactory.of(memberClass, "copyLong", consumerType),
+                    float.class, MethodHandleFactory.of(memberClass, "copyFloat", consumerType),
+                    double.class, MethodHandleFactory.of(memberClass, "copyDouble", consumerType)
+            );
+        }
+
+        @SuppressWarnings("unused")
+        public static void copyBoolean(MethodHandle getter, MethodHandle setter, Object src, Object dst) throws Throwable {
+            setter.invokeExact(dst, (boolean) getter.invokeExact(src));
+        }
+
+        @SuppressWarnings("unused")
+        public static void copyByte(MethodHandle getter, MethodHandle setter, Object src, Object dst) throws Throwable {
+            setter.invokeExact(dst, (byte) getter.invokeExact(src));
+        }
+
+        @SuppressWarnings("unused")
+        public static void copyChar(MethodHandle getter, MethodHandle setter, Object src, Object dst) throws Throwable {
+            setter.invokeExact(dst, (char) getter.invokeExact(src));
+        }
+
+        @SuppressWarnings("unused")
+        public static void copyShort(MethodHandle getter, MethodHandle setter, Object src, Object dst) throws Throwable {
+            setter.invokeExact(dst, (short) getter.invokeExact(src));
+        }
+
+        @SuppressWarnings("unused")
+        public static void copyInt(MethodHandle getter, MethodHandle setter, Object src, Object dst) throws Throwable {
+            setter.invokeExact(dst, (int) getter.invokeExact(src));
+        }
+
+        @SuppressWarnings("unused")
+        public static void copyLong(MethodHandle getter, MethodHandle setter, Object src, Object dst) throws Throwable {
+            setter.invokeExact(dst, (long) getter.invokeExact(src));
+        }
+
+        @SuppressWarnings("unused")
+        public static void copyFloat(MethodHandle getter, MethodHandle setter, Object src, Object dst) throws Throwable {
+            setter.invokeExact(dst, (float) getter.invokeExact(src));
+        }
+
+        @SuppressWarnings("unused")
+        public static void copyDouble(MethodHandle getter, MethodHandle setter, Object src, Object dst) throws Throwable {
+            setter.invokeExact(dst, (double) getter.invokeExact(src));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.reflectmap.internal.compiler.metafactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+public final class GetOrCreateFactory {
+
+    private GetOrCreateFactory() {}
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    /**
+     * Compile an accessor for an intermediate object on a nested destination path, which creates the object with its
+     * compiled constructor and stores it when it is null. Once the object exists, the accessor is a field read and a
+     * null check that always passes.
+     *
+     * @param getter The getter of the intermediate field, of type (Owner)T.
+     * @param setter The setter of the same field, of type (Owner, T)void.
+     * @param constructor The no-args constructor of the field's type, of type ()T.
+     * @return An accessor of type (Owner)T.
+     */
+    public static MethodHandle of(MethodHandle getter, MethodHandle setter, MethodHandle constructor) {
+        MethodType type = getter.type();
+        MethodHandle handle = MethodHandles.insertArguments(GetOrCreate.HANDLE, 0,
+                getter.asType(GETTER_TYPE), setter.asType(SETTER_TYPE), constructor.asType(CONSTRUCTOR_TYPE));
+        return handle.asType(type);
+    }
+
+    private static final class GetOrCreate {
+        private GetOrCreate() {}
+
+        static final MethodHandle HANDLE = MethodHandleFactory.of(GetOrCreate.class, "getOrCreate", MethodType.methodType(
+                Object.class, MethodHandle.class, MethodHandle.class, MethodHandle.class, Object.class));
+
+        @SuppressWarnings("unused")
+        public static Object getOrCreate(MethodHandle getter, MethodHandle setter, MethodHandle constructor, Object owner) throws Throwable {
+            Object value = (Object) getter.invokeExact(owner);
+            if (value == null) {
+                value = (Object) constructor.invokeExact();
+                setter.invokeExact(owner, value);
+            }
+            return value;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.reflectmap.internal.compiler.metafactory;
 
+import com.reflectmap.internal.CompilationScope;
+
 import java.lang.invoke.*;
 import java.util.function.Function;
 
@@ -35,6 +37,7 @@ public final class GetterFunctionFactory {
     @SuppressWarnings("unchecked")
     public static Function<Object, Object> of(MethodHandle handle) throws Throwable {
         handle = handle.asType(GetterFunction.METHOD_TYPE);
+        CompilationScope.lambdaCreated();
         return (Function<Object, Object>) CALL_SITE.getTarget().invokeExact(handle);
     }
 
@@ -0,0 +1,64 @@
+package com.reflectmap.internal.compiler.metafactory;
+
+import com.reflectmap.internal.CompilationScope;
+import com.reflectmap.internal.compiler.LambdaCompilerInstruction;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+public final class HiddenClassBiConsumerFactory {
+
+    private HiddenClassBiConsumerFactory() {}
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * The internal name of every generated class. The JVM appends a unique suffix to each hidden class.
+     */
+    private static final String CLASS_NAME = HiddenClassBiConsumerFactory.class.getPackageName().replace('.', '/') + "/HiddenClassBiConsumer";
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(void.class);
+
+    /**
+     * Compile all instructions into a single hidden class with one straight-line {@code accept} method.
+     *
+     * <p>Each getter and setter is stored in a {@code static final} field of the generated class, so the JIT treats
+     * the handles as constants and inlines them down to the underlying field accesses. Primitive fields are carried
+     * through the generated code as primitives when both sides agree on the type, and are never boxed.</p>
+     *
+     * @param instructions The instructions resolved by another part of the compiler, in the order they are executed.
+     * @return A consumer that, when executed, performs every copy in order.
+     * @throws Throwable Thrown if the class cannot be defined or instantiated.
+     */
+    @SuppressWarnings("unchecked")
+    public static BiConsumer<Object, Object> of(List<LambdaCompilerInstruction> instructions) throws Throwable {
+        MethodHandle[] handles = new MethodHandle[instructions.size() * 2];
+        for (int i = 0; i < instructions.size(); i++) {
+            LambdaCompilerInstruction instruction = instructions.get(i);
+            Class<?> carrierType = carrierType(instruction.getter(), instruction.setter());
+            handles[2 * i] = instruction.getter().asType(MethodType.methodType(carrierType, Object.class));
+            handles[2 * i + 1] = instruction.setter().asType(MethodType.methodType(void.class, Object.class, carrierType));
+        }
+
+        byte[] bytes = MapperClassWriter.write(CLASS_NAME, handles);
+        Class<?> hiddenClass = LOOKUP.defineHiddenClassWithClassData(bytes, handles, true).lookupClass();
+        CompilationScope.classDefined(bytes.length);
+        return (BiConsumer<Object, Object>) LOOKUP.findConstructor(hiddenClass, CONSTRUCTOR_TYPE).invoke();
+    }
+
+    /**
+     * The type a value travels as between the getter and the setter: the primitive type itself when both sides
+     * declare the same primitive, otherwise {@code Object}.
+     */
+    private static Class<?> carrierType(MethodHandle getter, MethodHandle setter) {
+        Class<?> getterType = getter.type().returnType();
+        Class<?> setterType = setter.type().lastParameterType();
+        if (getterType.isPrimitive() && getterType == setterType) {
+            return getterType;
+        }
+        return Object.class;
+    }
+}
@@ -1,5 +1,7 @@
 package com.reflectmap.internal.compiler.metafactory;
 
+import com.reflectmap.internal.CompilationScope;
+
 import java.lang.invoke.*;
 import java.util.function.BiConsumer;
 
@@ -44,6 +46,7 @@ public class InvokedBiConsumerFactory {
      */
     @SuppressWarnings("unchecked")
     public static <T, U> BiConsumer<T, U> of(MethodHandle handle) throws Throwable {
+        CompilationScope.lambdaCreated();
         return (BiConsumer<T, U>) CALL_SITE.getTarget().invokeExact(handle);
     }
 
@@ -0,0 +1,331 @@
+package com.reflectmap.internal.compiler.metafactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A minimal class file writer that emits exactly one shape of class: a {@code BiConsumer} whose
+ * {@code accept(Object, Object)} method is a straight-line sequence of {@code invokeExact} calls.
+ *
+ * <p>The generated class looks like the following, where every handle is read from the hidden class data:</p>
+ * <pre>{@code
+ * final class HiddenClassBiConsumer implements BiConsumer {
+ *     private static final MethodHandle h0, h1, ...;
+ *
+ *     public void accept(Object src, Object dst) {
+ *         h1.invokeExact(dst, (T0) h0.invokeExact(src));
+ *         h3.invokeExact(dst, (T1) h2.invokeExact(src));
+ *         ...
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>The code never branches, so no {@code StackMapTable} is required. Only {@code java.base} types appear in the
+ * constant pool; the mapped classes are only ever referenced through the handles.</p>
+ */
+final class MapperClassWriter {
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int JAVA_17 = 61;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_STATIC = 0x0008;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    private static final int ICONST_0 = 0x03;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC_W = 0x13;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_2 = 0x2c;
+    private static final int AALOAD = 0x32;
+    private static final int ASTORE_0 = 0x4b;
+    private static final int RETURN = 0xb1;
+    private static final int GETSTATIC = 0xb2;
+    private static final int PUTSTATIC = 0xb3;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int CHECKCAST = 0xc0;
+
+    private static final String OBJECT = "java/lang/Object";
+    private static final String METHOD_HANDLE = "java/lang/invoke/MethodHandle";
+    private static final String METHOD_HANDLE_DESC = "Ljava/lang/invoke/MethodHandle;";
+    private static final String METHOD_HANDLE_ARRAY = "[Ljava/lang/invoke/MethodHandle;";
+    private static final String METHOD_HANDLES = "java/lang/invoke/MethodHandles";
+    private static final String LOOKUP_DESC = "Ljava/lang/invoke/MethodHandles$Lookup;";
+
+    private final ByteArrayOutputStream constantPoolBytes = new ByteArrayOutputStream();
+    private final DataOutputStream constantPool = new DataOutputStream(constantPoolBytes);
+    private final Map<String, Integer> constants = new HashMap<>();
+    private int constantCount = 1;
+
+    private MapperClassWriter() {}
+
+    /**
+     * Writes a class which copies one value per getter/setter pair. Handle {@code 2 * i} is the getter and
+     * handle {@code 2 * i + 1} is the setter of field {@code i}, exactly as they are laid out in the class data.
+     *
+     * @param internalName The internal name of the class, in the package of the defining lookup.
+     * @param handles      The class data; getters typed {@code (Object)T}, setters typed {@code (Object, T)void}.
+     */
+    static byte[] write(String internalName, MethodHandle[] handles) {
+        return new MapperClassWriter().writeClass(internalName, handles);
+    }
+
+    private byte[] writeClass(String internalName, MethodHandle[] handles) {
+        try {
+            int thisClass = classRef(internalName);
+            int superClass = classRef(OBJECT);
+            int biConsumer = classRef("java/util/function/BiConsumer");
+
+            byte[] init = initCode();
+            byte[] clinit = clinitCode(internalName, handles);
+            byte[] accept = acceptCode(internalName, handles);
+
+            int code = utf8("Code");
+            int handleDesc = utf8(METHOD_HANDLE_DESC);
+            int[] fieldNames = new int[handles.length];
+            for (int i = 0; i < handles.length; i++) {
+                fieldNames[i] = utf8(fieldName(i));
+            }
+            int initName = utf8("<init>");
+            int clinitName = utf8("<clinit>");
+            int acceptName = utf8("accept");
+            int voidDesc = utf8("()V");
+            int acceptDesc = utf8("(Ljava/lang/Object;Ljava/lang/Object;)V");
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeShort(0);
+            out.writeShort(JAVA_17);
+            out.writeShort(constantCount);
+            constantPoolBytes.writeTo(out);
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(1);
+            out.writeShort(biConsumer);
+
+            out.writeShort(handles.length);
+            for (int fieldName : fieldNames) {
+                out.writeShort(ACC_PRIVATE | ACC_STATIC | ACC_FINAL);
+                out.writeShort(fieldName);
+                out.writeShort(handleDesc);
+                out.writeShort(0);
+            }
+
+            out.writeShort(3);
+            writeMethod(out, ACC_PUBLIC, initName, voidDesc, code, 1, 1, init);
+            writeMethod(out, ACC_STATIC, clinitName, voidDesc, code, 3, 1, clinit);
+            writeMethod(out, ACC_PUBLIC, acceptName, acceptDesc, code, 5, 3, accept);
+
+            out.writeShort(0);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] initCode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream code = new DataOutputStream(bytes);
+        code.writeByte(ALOAD_0);
+        code.writeByte(INVOKESPECIAL);
+        code.writeShort(methodRef(OBJECT, "<init>", "()V"));
+        code.writeByte(RETURN);
+        return bytes.toByteArray();
+    }
+
+    private byte[] clinitCode(String internalName, MethodHandle[] handles) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream code = new DataOutputStream(bytes);
+
+        // MethodHandle[] data = MethodHandles.classData(MethodHandles.lookup(), "_", MethodHandle[].class);
+        code.writeByte(INVOKESTATIC);
+        code.writeShort(methodRef(METHOD_HANDLES, "lookup", "()" + LOOKUP_DESC));
+        code.writeByte(LDC_W);
+        code.writeShort(string("_"));
+        code.writeByte(LDC_W);
+        code.writeShort(classRef(METHOD_HANDLE_ARRAY));
+        code.writeByte(INVOKESTATIC);
+        code.writeShort(methodRef(METHOD_HANDLES, "classData", "(" + LOOKUP_DESC + "Ljava/lang/String;Ljava/lang/Class;)Ljava/lang/Object;"));
+        code.writeByte(CHECKCAST);
+        code.writeShort(classRef(METHOD_HANDLE_ARRAY));
+        code.writeByte(ASTORE_0);
+
+        // h[i] = data[i];
+        for (int i = 0; i < handles.length; i++) {
+            code.writeByte(ALOAD_0);
+            pushInt(code, i);
+            code.writeByte(AALOAD);
+            code.writeByte(PUTSTATIC);
+            code.writeShort(fieldRef(internalName, fieldName(i), METHOD_HANDLE_DESC));
+        }
+
+        code.writeByte(RETURN);
+        return bytes.toByteArray();
+    }
+
+    private byte[] acceptCode(String internalName, MethodHandle[] handles) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream code = new DataOutputStream(bytes);
+
+        // setter.invokeExact(dst, getter.invokeExact(src));
+        for (int i = 0; i < handles.length; i += 2) {
+            MethodType getterType = handles[i].type();
+            MethodType setterType = handles[i + 1].type();
+
+            code.writeByte(GETSTATIC);
+            code.writeShort(fieldRef(internalName, fieldName(i + 1), METHOD_HANDLE_DESC));
+            code.writeByte(ALOAD_2);
+            code.writeByte(GETSTATIC);
+            code.writeShort(fieldRef(internalName, fieldName(i), METHOD_HANDLE_DESC));
+            code.writeByte(ALOAD_1);
+            code.writeByte(INVOKEVIRTUAL);
+            code.writeShort(methodRef(METHOD_HANDLE, "invokeExact", getterType.toMethodDescriptorString()));
+            code.writeByte(INVOKEVIRTUAL);
+            code.writeShort(methodRef(METHOD_HANDLE, "invokeExact", setterType.toMethodDescriptorString()));
+        }
+
+        code.writeByte(RETURN);
+        return bytes.toByteArray();
+    }
+
+    private static void writeMethod(DataOutputStream out, int access, int name, int descriptor, int codeAttribute,
+                                    int maxStack, int maxLocals, byte[] code) throws IOException {
+        out.writeShort(access);
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(1);
+        out.writeShort(codeAttribute);
+        out.writeInt(12 + code.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length);
+        out.write(code);
+        out.writeShort(0);
+        out.writeShort(0);
+    }
+
+    private void pushInt(DataOutputStream code, int value) throws IOException {
+        if (value <= 5) {
+            code.writeByte(ICONST_0 + value);
+        } else if (value <= Byte.MAX_VALUE) {
+            code.writeByte(BIPUSH);
+            code.writeByte(value);
+        } else if (value <= Short.MAX_VALUE) {
+            code.writeByte(SIPUSH);
+            code.writeShort(value);
+        } else {
+            code.writeByte(LDC_W);
+            code.writeShort(integer(value));
+        }
+    }
+
+    private static String fieldName(int index) {
+        return "h" + index;
+    }
+
+    private int utf8(String value) throws IOException {
+        Integer index = constants.get("U" + value);
+        if (index != null) {
+            return index;
+        }
+        constantPool.writeByte(CONSTANT_UTF8);
+        constantPool.writeUTF(value);
+        return register("U" + value);
+    }
+
+    private int integer(int value) throws IOException {
+        Integer index = constants.get("I" + value);
+        if (index != null) {
+            return index;
+        }
+        constantPool.writeByte(CONSTANT_INTEGER);
+        constantPool.writeInt(value);
+        return register("I" + value);
+    }
+
+    private int string(String value) throws IOException {
+        int utf8 = utf8(value);
+        Integer index = constants.get("S" + value);
+        if (index != null) {
+            return index;
+        }
+        constantPool.writeByte(CONSTANT_STRING);
+        constantPool.writeShort(utf8);
+        return register("S" + value);
+    }
+
+    private int classRef(String internalName) throws IOException {
+        int utf8 = utf8(internalName);
+        Integer index = constants.get("C" + internalName);
+        if (index != null) {
+            return index;
+        }
+        constantPool.writeByte(CONSTANT_CLASS);
+        constantPool.writeShort(utf8);
+        return register("C" + internalName);
+    }
+
+    private int nameAndType(String name, String descriptor) throws IOException {
+        int nameIndex = utf8(name);
+        int descriptorIndex = utf8(descriptor);
+        String key = "N" + name + ":" + descriptor;
+        Integer index = constants.get(key);
+        if (index != null) {
+            return index;
+        }
+        constantPool.writeByte(CONSTANT_NAME_AND_TYPE);
+        constantPool.writeShort(nameIndex);
+        constantPool.writeShort(descriptorIndex);
+        return register(key);
+    }
+
+    private int fieldRef(String owner, String name, String descriptor) throws IOException {
+        return memberRef(CONSTANT_FIELDREF, "F", owner, name, descriptor);
+    }
+
+    private int methodRef(String owner, String name, String descriptor) throws IOException {
+        return memberRef(CONSTANT_METHODREF, "M", owner, name, descriptor);
+    }
+
+    private int memberRef(int tag, String prefix, String owner, String name, String descriptor) throws IOException {
+        int classIndex = classRef(owner);
+        int nameAndTypeIndex = nameAndType(name, descriptor);
+        String key = prefix + owner + "." + name + ":" + descriptor;
+        Integer index = constants.get(key);
+        if (index != null) {
+            return index;
+        }
+        constantPool.writeByte(tag);
+        constantPool.writeShort(classIndex);
+        constantPool.writeShort(nameAndTypeIndex);
+        return register(key);
+    }
+
+    private int register(String key) {
+        int index = constantCount++;
+        constants.put(key, index);
+        return index;
+    }
+}
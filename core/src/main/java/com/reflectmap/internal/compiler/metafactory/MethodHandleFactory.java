@@ -18,12 +18,26 @@ public final class MethodHandleFactory {
         }
     }
 
+    /**
+     * A getter of type (memberClass)T. The field may be declared by a superclass of the member class.
+     */
     public static MethodHandle getter(Class<?> memberClass, Field f) throws NoSuchFieldException, IllegalAccessException {
-        return PrivateLookupCache.INSTANCE.get(memberClass).findGetter(memberClass, f.getName(), f.getType());
+        Class<?> declaringClass = f.getDeclaringClass();
+        return PrivateLookupCache.INSTANCE.get(declaringClass).findGetter(declaringClass, f.getName(), f.getType())
+                .asType(MethodType.methodType(f.getType(), memberClass));
     }
 
+    public static MethodHandle constructor(Class<?> memberClass, Class<?>... parameterTypes) throws NoSuchMethodException, IllegalAccessException {
+        return PrivateLookupCache.INSTANCE.get(memberClass).findConstructor(memberClass, MethodType.methodType(void.class, parameterTypes));
+    }
+
+    /**
+     * A setter of type (memberClass, T)void. The field may be declared by a superclass of the member class.
+     */
     public static MethodHandle setter(Class<?> memberClass, Field f) throws NoSuchFieldException, IllegalAccessException {
-        return PrivateLookupCache.INSTANCE.get(memberClass).findSetter(memberClass, f.getName(), f.getType());
+        Class<?> declaringClass = f.getDeclaringClass();
+        return PrivateLookupCache.INSTANCE.get(declaringClass).findSetter(declaringClass, f.getName(), f.getType())
+                .asType(MethodType.methodType(void.class, memberClass, f.getType()));
     }
 
 }
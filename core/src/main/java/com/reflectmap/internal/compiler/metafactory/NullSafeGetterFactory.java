@@ -0,0 +1,34 @@
+package com.reflectmap.internal.compiler.metafactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Objects;
+
+public final class NullSafeGetterFactory {
+
+    private NullSafeGetterFactory() {}
+
+    static final MethodHandle IS_NULL;
+    static {
+        try {
+            IS_NULL = MethodHandles.publicLookup().findStatic(Objects.class, "isNull", MethodType.methodType(boolean.class, Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Guard a getter on an intermediate object of a nested path, so a null owner yields null, or zero for a primitive
+     * field, instead of an NPE. The guard is a single null check compiled with {@code guardWithTest}, which the JIT
+     * turns into a branch that is never taken while the owner is non-null.
+     *
+     * @param getter A getter of type (Owner)T.
+     * @return A getter of the same type that tolerates a null owner.
+     */
+    public static MethodHandle of(MethodHandle getter) {
+        MethodType type = getter.type();
+        MethodHandle test = IS_NULL.asType(MethodType.methodType(boolean.class, type.parameterType(0)));
+        return MethodHandles.guardWithTest(test, MethodHandles.empty(type), getter);
+    }
+}
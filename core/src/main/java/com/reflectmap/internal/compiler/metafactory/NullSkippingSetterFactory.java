@@ -0,0 +1,24 @@
+package com.reflectmap.internal.compiler.metafactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+public final class NullSkippingSetterFactory {
+
+    private NullSkippingSetterFactory() {}
+
+    /**
+     * Guard a setter so a null value leaves the destination field untouched. The guard is a single null check
+     * compiled with {@code guardWithTest}, like {@link NullSafeGetterFactory}, so it costs one branch per field.
+     *
+     * @param setter A setter of type (Owner, T)void, where T is a reference type.
+     * @return A setter of the same type that ignores null values.
+     */
+    public static MethodHandle of(MethodHandle setter) {
+        MethodType type = setter.type();
+        MethodHandle test = NullSafeGetterFactory.IS_NULL.asType(MethodType.methodType(boolean.class, type.parameterType(1)));
+        test = MethodHandles.dropArguments(test, 0, type.parameterType(0));
+        return MethodHandles.guardWithTest(test, MethodHandles.empty(type), setter);
+    }
+}
@@ -1,5 +1,7 @@
 package com.reflectmap.internal.compiler.metafactory;
 
+import com.reflectmap.internal.CompilationScope;
+
 import java.lang.invoke.CallSite;
 import java.lang.invoke.LambdaMetafactory;
 import java.lang.invoke.MethodHandle;
@@ -39,6 +41,7 @@ public final class SetterBiConsumerFactory {
     @SuppressWarnings("unchecked")
     public static BiConsumer<Object, Object> of(MethodHandle handle) throws Throwable {
         handle = handle.asType(SetterConsumer.METHOD_TYPE);
+        CompilationScope.lambdaCreated();
         return (BiConsumer<Object, Object>) CALL_SITE.getTarget().invokeExact(handle);
     }
 
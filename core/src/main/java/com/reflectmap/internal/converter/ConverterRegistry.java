@@ -0,0 +1,143 @@
+package com.reflectmap.internal.converter;
+
+import com.reflectmap.internal.compiler.metafactory.MethodHandleFactory;
+import com.reflectmap.internal.compiler.metafactory.NullSafeGetterFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Resolves the converter between two field types that are not assignment compatible, as a method handle of type
+ * (from)to that is spliced between a getter and a setter, so the conversion is compiled into the mapper.
+ *
+ * <p>User-registered converters take precedence over the built-in ones, which are:</p>
+ * <ul>
+ *     <li>Widening and narrowing between primitive types and their wrappers, with Java cast semantics.</li>
+ *     <li>Parsing a {@code String} into a primitive type or its wrapper, and {@code String} into an enum by name.</li>
+ *     <li>{@code Instant} to and from epoch milliseconds as a {@code long}.</li>
+ *     <li>An enum into a {@code String} with {@code Enum.name()}, and a primitive type, its wrapper, a {@code Number} or
+ *     a {@code CharSequence} with {@code toString()}. Other types need a registered converter.</li>
+ * </ul>
+ * <p>Built-in converters convert a null reference to null, or zero for a primitive.</p>
+ */
+public final class ConverterRegistry {
+
+    private ConverterRegistry() {}
+
+    private static final Map<Class<?>, Map<Class<?>, MethodHandle>> REGISTERED = new ConcurrentHashMap<>();
+
+    private static final ClassValue<ClassValue<Optional<MethodHandle>>> CONVERTERS = new ClassValue<>() {
+        @Override
+        protected ClassValue<Optional<MethodHandle>> computeValue(Class<?> from) {
+            return new ClassValue<>() {
+                @Override
+                protected Optional<MethodHandle> computeValue(Class<?> to) {
+                    MethodHandle registered = REGISTERED.getOrDefault(from, Map.of()).get(to);
+                    return Optional.ofNullable(registered != null ? registered : BuiltInConverters.of(from, to));
+                }
+            };
+        }
+    };
+
+    /**
+     * Registers a converter, replacing any previous one for the same pair. Mappers compiled before the registration
+     * keep the converter they were compiled with.
+     */
+    public static <A, B> void register(Class<A> from, Class<B> to, Function<? super A, ? extends B> converter) {
+        MethodHandle handle = BuiltInConverters.APPLY.bindTo(converter).asType(MethodType.methodType(to, from));
+        REGISTERED.computeIfAbsent(from, k -> new ConcurrentHashMap<>()).put(to, handle);
+        CONVERTERS.get(from).remove(to);
+    }
+
+    /**
+     * @return A converter of type (from)to, or null if there is none.
+     */
+    public static MethodHandle find(Class<?> from, Class<?> to) {
+        return CONVERTERS.get(from).get(to).orElse(null);
+    }
+
+    private static final class BuiltInConverters {
+
+        private BuiltInConverters() {}
+
+        static final MethodHandle APPLY;
+        static final MethodHandle ENUM_VALUE_OF;
+        static final MethodHandle TO_EPOCH_MILLI;
+        static final MethodHandle OF_EPOCH_MILLI;
+        static final Map<Class<?>, MethodHandle> PARSERS;
+        static {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            try {
+                APPLY = lookup.findVirtual(Function.class, "apply", MethodType.methodType(Object.class, Object.class));
+                ENUM_VALUE_OF = lookup.findStatic(Enum.class, "valueOf", MethodType.methodType(Enum.class, Class.class, String.class));
+                TO_EPOCH_MILLI = lookup.findVirtual(Instant.class, "toEpochMilli", MethodType.methodType(long.class));
+                OF_EPOCH_MILLI = lookup.findStatic(Instant.class, "ofEpochMilli", MethodType.methodType(Instant.class, long.class));
+                PARSERS = Map.of(
+                        boolean.class, lookup.findStatic(Boolean.class, "parseBoolean", MethodType.methodType(boolean.class, String.class)),
+                        byte.class, lookup.findStatic(Byte.class, "parseByte", MethodType.methodType(byte.class, String.class)),
+                        short.class, lookup.findStatic(Short.class, "parseShort", MethodType.methodType(short.class, String.class)),
+                        int.class, lookup.findStatic(Integer.class, "parseInt", MethodType.methodType(int.class, String.class)),
+                        long.class, lookup.findStatic(Long.class, "parseLong", MethodType.methodType(long.class, String.class)),
+                        float.class, lookup.findStatic(Float.class, "parseFloat", MethodType.methodType(float.class, String.class)),
+                        double.class, lookup.findStatic(Double.class, "parseDouble", MethodType.methodType(double.class, String.class))
+                );
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        static final MethodHandle ENUM_NAME = MethodHandleFactory.of(BuiltInConverters.class, "enumName",
+                MethodType.methodType(String.class, Enum.class));
+        static final MethodHandle TO_STRING = MethodHandleFactory.of(BuiltInConverters.class, "toString",
+                MethodType.methodType(String.class, Object.class));
+
+        static MethodHandle of(Class<?> from, Class<?> to) {
+            MethodType type = MethodType.methodType(to, from);
+            Class<?> fromPrimitive = MethodType.methodType(from).unwrap().returnType();
+            Class<?> toPrimitive = MethodType.methodType(to).unwrap().returnType();
+
+            MethodHandle converter = null;
+            if (fromPrimitive.isPrimitive() && toPrimitive.isPrimitive()) {
+                if ((fromPrimitive == boolean.class) != (toPrimitive == boolean.class)) {
+                    return null;
+                }
+                converter = MethodHandles.identity(from).asType(MethodType.methodType(fromPrimitive, from));
+                converter = MethodHandles.explicitCastArguments(converter, MethodType.methodType(toPrimitive, from)).asType(type);
+            } else if (from == String.class && PARSERS.containsKey(toPrimitive)) {
+                converter = PARSERS.get(toPrimitive).asType(type);
+            } else if (from == String.class && Enum.class.isAssignableFrom(to)) {
+                converter = MethodHandles.insertArguments(ENUM_VALUE_OF, 0, to).asType(type);
+            } else if (from == Instant.class && toPrimitive == long.class) {
+                converter = TO_EPOCH_MILLI.asType(type);
+            } else if (fromPrimitive == long.class && to == Instant.class) {
+                converter = OF_EPOCH_MILLI.asType(type);
+            } else if (to == String.class && Enum.class.isAssignableFrom(from)) {
+                return ENUM_NAME.asType(type);
+            } else if (to == String.class && (fromPrimitive.isPrimitive()
+                    || Number.class.isAssignableFrom(from) || CharSequence.class.isAssignableFrom(from))) {
+                return TO_STRING.asType(type);
+            }
+
+            if (converter == null || from.isPrimitive()) {
+                return converter;
+            }
+            return NullSafeGetterFactory.of(converter);
+        }
+
+        @SuppressWarnings("unused")
+        private static String enumName(Enum<?> value) {
+            return value != null ? value.name() : null;
+        }
+
+        @SuppressWarnings("unused")
+        private static String toString(Object value) {
+            return value != null ? value.toString() : null;
+        }
+    }
+}
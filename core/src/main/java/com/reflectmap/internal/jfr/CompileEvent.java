@@ -0,0 +1,38 @@
+package com.reflectmap.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The compilation or interpretation of a single type pair. The event spans the whole compilation, so its start and
+ * end line up with the GC and safepoint events of the same recording.
+ */
+@Name("com.reflectmap.Compile")
+@Label("Mapper Compilation")
+@Category("ReflectMap")
+@Description("Compilation of the mapper of a type pair")
+@StackTrace(false)
+public final class CompileEvent extends jdk.jfr.Event {
+
+    @Label("Copy Mode")
+    String copyMode;
+
+    @Label("Source Type")
+    Class<?> srcType;
+
+    @Label("Destination Type")
+    Class<?> dstType;
+
+    @Label("Tier")
+    @Description("Whether the pair was compiled, or resolved into an interpreted mapping")
+    String tier;
+
+    @Label("Fields Mapped")
+    int fieldCount;
+
+    @Label("Succeeded")
+    boolean succeeded;
+}
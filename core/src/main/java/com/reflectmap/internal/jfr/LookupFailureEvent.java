@@ -0,0 +1,31 @@
+package com.reflectmap.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A type pair that could not be resolved into a mapper. The caller receives the same failure as an exception.
+ */
+@Name("com.reflectmap.LookupFailure")
+@Label("Mapper Lookup Failure")
+@Category("ReflectMap")
+@Description("A type pair that could not be resolved into a mapper")
+public final class LookupFailureEvent extends jdk.jfr.Event {
+
+    @Label("Copy Mode")
+    String copyMode;
+
+    @Label("Source Type")
+    Class<?> srcType;
+
+    @Label("Destination Type")
+    Class<?> dstType;
+
+    @Label("Exception Class")
+    Class<?> exceptionClass;
+
+    @Label("Message")
+    String message;
+}
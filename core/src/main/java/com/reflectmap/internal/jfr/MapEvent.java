@@ -0,0 +1,35 @@
+package com.reflectmap.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A sampled call that maps one object: {@code ReflectMap.map}, {@code mapChanges}, or a {@code Mapper}, including each
+ * element of its batches. Disabled by default, since it is emitted from the hot path: enable {@code com.reflectmap.Map}
+ * in the recording settings, and set {@code -Dreflectmap.jfr.mapSampleInterval=N} to record one call in N per thread.
+ * Projections and change mapping report their store after the copy mode, such as {@code ANNOTATION_DRIVEN[changes]}.
+ */
+@Name("com.reflectmap.Map")
+@Label("Map Call")
+@Category("ReflectMap")
+@Description("A sampled call that maps one object")
+@Enabled(false)
+@StackTrace(false)
+public final class MapEvent extends jdk.jfr.Event {
+
+    @Label("Copy Mode")
+    String copyMode;
+
+    @Label("Source Type")
+    Class<?> srcType;
+
+    @Label("Destination Type")
+    Class<?> dstType;
+
+    @Label("Fields Mapped")
+    int fieldCount;
+}
@@ -0,0 +1,75 @@
+package com.reflectmap.internal.jfr;
+
+/**
+ * Fills in and commits the ReflectMap JFR events. Callers create the compile event and check {@code isEnabled()} or
+ * {@code shouldCommit()} themselves. Map events are created by {@link #sample()}, only for the calls it samples, so
+ * the hot path allocates nothing while no recording enables the event.
+ */
+public final class MappingEvents {
+
+    public static final String MAP_SAMPLE_INTERVAL_PROPERTY = "reflectmap.jfr.mapSampleInterval";
+
+    private static final int MAP_SAMPLE_INTERVAL = Math.max(1, Integer.getInteger(MAP_SAMPLE_INTERVAL_PROPERTY, 1024));
+
+    /**
+     * Never committed. Whether an event is enabled is a property of its class, so this one instance answers it for
+     * every call without allocating.
+     */
+    private static final MapEvent MAP_PROBE = new MapEvent();
+
+    /**
+     * Map calls seen by each thread while the map event is enabled, so threads never contend on a shared counter.
+     */
+    private static final ThreadLocal<int[]> MAP_CALLS = ThreadLocal.withInitial(() -> new int[1]);
+
+    private MappingEvents() {}
+
+    public static void compiled(CompileEvent event, String copyMode, Class<?> srcType, Class<?> dstType, boolean interpreted,
+                                int fieldCount, boolean succeeded) {
+        event.copyMode = copyMode;
+        event.srcType = srcType;
+        event.dstType = dstType;
+        event.tier = interpreted ? "interpreted" : "compiled";
+        event.fieldCount = fieldCount;
+        event.succeeded = succeeded;
+        event.commit();
+    }
+
+    public static void lookupFailed(String copyMode, Class<?> srcType, Class<?> dstType, Throwable failure) {
+        LookupFailureEvent event = new LookupFailureEvent();
+        if (event.isEnabled()) {
+            event.copyMode = copyMode;
+            event.srcType = srcType;
+            event.dstType = dstType;
+            event.exceptionClass = failure.getClass();
+            event.message = failure.getMessage();
+            event.commit();
+        }
+    }
+
+    /**
+     * Begins the map event of the current call if it is one of the sampled ones.
+     *
+     * @return The begun event, to pass to {@link #mapped(MapEvent, String, Class, Class, int)} once the call has
+     *         mapped, or null if the event is disabled or the call is not sampled.
+     */
+    public static MapEvent sample() {
+        if (!MAP_PROBE.isEnabled() || ++MAP_CALLS.get()[0] % MAP_SAMPLE_INTERVAL != 0) {
+            return null;
+        }
+        MapEvent event = new MapEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void mapped(MapEvent event, String copyMode, Class<?> srcType, Class<?> dstType, int fieldCount) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.copyMode = copyMode;
+            event.srcType = srcType;
+            event.dstType = dstType;
+            event.fieldCount = fieldCount;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.reflectmap.internal.metadata;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The flattened field layout of a class, computed once per class and shared by every compiler and copy mode: every
+ * instance field declared by the class and its superclasses, so inherited fields are mapped together with declared
+ * ones, and a hash index of the fields by name. A superclass field hidden by a subclass field of the same name is left
+ * out of both, so it is never mapped.
+ *
+ * <p>Fields are described by {@link FieldMetadata}, which also caches their parsed annotations and method handles.
+ * The metadata of an inherited field is the same instance in the subclass as in the declaring class.</p>
+ */
+public final class ClassMetadata {
+
+    private static final ClassValue<ClassMetadata> CACHE = new ClassValue<>() {
+        @Override
+        protected ClassMetadata computeValue(Class<?> type) {
+            return new ClassMetadata(type);
+        }
+    };
+
+    private final List<FieldMetadata> fields;
+    private final Map<String, FieldMetadata> fieldsByName;
+
+    private ClassMetadata(Class<?> type) {
+        List<FieldMetadata> fields = new ArrayList<>();
+        Class<?> superclass = type.getSuperclass();
+        if (superclass != null && superclass != Object.class) {
+            fields.addAll(of(superclass).fields);
+        }
+        for (Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                fields.add(new FieldMetadata(field));
+            }
+        }
+
+        Map<String, FieldMetadata> fieldsByName = new HashMap<>();
+        for (FieldMetadata field : fields) {
+            // Subclasses come later, so a field hidden by a subclass field of the same name resolves to the latter.
+            fieldsByName.put(field.name(), field);
+        }
+        fields.removeIf(field -> fieldsByName.get(field.name()) != field);
+        this.fields = List.copyOf(fields);
+        this.fieldsByName = Map.copyOf(fieldsByName);
+    }
+
+    public static ClassMetadata of(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    /**
+     * Every instance field not hidden by a subclass field, superclass fields first, each class's fields in declaration
+     * order.
+     */
+    public List<FieldMetadata> fields() {
+        return fields;
+    }
+
+    /**
+     * The instance field with the given name, declared by the class or inherited from a superclass.
+     *
+     * @throws NoSuchFieldException if there is no such field.
+     */
+    public FieldMetadata field(String name) throws NoSuchFieldException {
+        FieldMetadata field = fieldsByName.get(name);
+        if (field == null) {
+            throw new NoSuchFieldException(name);
+        }
+        return field;
+    }
+}
@@ -0,0 +1,29 @@
+package com.reflectmap.internal.metadata;
+
+import com.reflectmap.annotation.FieldMapping;
+
+import java.lang.reflect.Field;
+import java.util.Set;
+
+/**
+ * A {@link FieldMapping} parsed once, with its dotted paths already split.
+ *
+ * @param srcFieldNames The source path.
+ * @param dstFieldNames The destination path, starting with the annotated field.
+ * @param groups The projection groups the mapping belongs to.
+ */
+public record FieldMappingMetadata(Class<?> srcType, String[] srcFieldNames, String[] dstFieldNames, boolean nullSafe, boolean createMissing,
+                                   Set<String> groups) {
+
+    static FieldMappingMetadata of(Field field, FieldMapping annotation) {
+        String[] srcFieldNames = annotation.srcFieldName().trim().split("\\.");
+
+        String dstFieldName = annotation.dstFieldName().trim();
+        String[] dstFieldNames = dstFieldName.isEmpty()
+                ? new String[] {field.getName()}
+                : (field.getName() + "." + dstFieldName).split("\\.");
+
+        return new FieldMappingMetadata(annotation.srcType(), srcFieldNames, dstFieldNames, annotation.nullSafe(), annotation.createMissing(),
+                Set.of(annotation.groups()));
+    }
+}
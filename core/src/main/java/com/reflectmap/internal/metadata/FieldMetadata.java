@@ -0,0 +1,87 @@
+package com.reflectmap.internal.metadata;
+
+import com.reflectmap.annotation.FieldMapping;
+import com.reflectmap.internal.compiler.metafactory.MethodHandleFactory;
+import com.reflectmap.internal.util.TypeUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A single instance field, with its parsed {@link FieldMapping} annotations and its getter and setter handles, which
+ * are looked up once and shared by every compiler and copy mode.
+ */
+public final class FieldMetadata {
+
+    private final Field field;
+    private final List<FieldMappingMetadata> mappings;
+
+    private volatile MethodHandle getter;
+    private volatile MethodHandle setter;
+
+    FieldMetadata(Field field) {
+        this.field = field;
+
+        List<FieldMappingMetadata> mappings = new ArrayList<>();
+        for (FieldMapping annotation : field.getDeclaredAnnotationsByType(FieldMapping.class)) {
+            mappings.add(FieldMappingMetadata.of(field, annotation));
+        }
+        this.mappings = List.copyOf(mappings);
+    }
+
+    public Field field() {
+        return field;
+    }
+
+    public String name() {
+        return field.getName();
+    }
+
+    public Class<?> type() {
+        return field.getType();
+    }
+
+    /**
+     * The {@link FieldMapping} annotations of the field, in declaration order.
+     */
+    public List<FieldMappingMetadata> mappings() {
+        return mappings;
+    }
+
+    /**
+     * The first {@link FieldMapping} declared for a source type compatible with the given one, or null if none is.
+     */
+    public FieldMappingMetadata mapping(Class<?> srcType) {
+        for (FieldMappingMetadata candidate : mappings) {
+            if (TypeUtils.isTypeCompatible(srcType, candidate.srcType())) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A getter of type (memberClass)T, where the member class is the declaring class or one of its subclasses.
+     */
+    public MethodHandle getter(Class<?> memberClass) throws NoSuchFieldException, IllegalAccessException {
+        MethodHandle handle = getter;
+        if (handle == null) {
+            getter = handle = MethodHandleFactory.getter(field.getDeclaringClass(), field);
+        }
+        return handle.asType(MethodType.methodType(field.getType(), memberClass));
+    }
+
+    /**
+     * A setter of type (memberClass, T)void, where the member class is the declaring class or one of its subclasses.
+     */
+    public MethodHandle setter(Class<?> memberClass) throws NoSuchFieldException, IllegalAccessException {
+        MethodHandle handle = setter;
+        if (handle == null) {
+            setter = handle = MethodHandleFactory.setter(field.getDeclaringClass(), field);
+        }
+        return handle.asType(MethodType.methodType(void.class, memberClass, field.getType()));
+    }
+}
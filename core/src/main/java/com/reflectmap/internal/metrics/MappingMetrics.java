@@ -0,0 +1,251 @@
+package com.reflectmap.internal.metrics;
+
+import com.reflectmap.internal.CompilationScope;
+import com.reflectmap.internal.compiler.ChangeMapper;
+import com.reflectmap.internal.compiler.Compiler;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Opt-in counters of compilation and invocation, per copy mode and type pair, enabled with
+ * {@code -Dreflectmap.metrics=true}.
+ *
+ * <p>Metrics are wired in by wrapping the compilers of every copy mode when the class is initialized, so with metrics
+ * disabled no metrics code runs on any path, and {@code ReflectMap.map} executes exactly the unwrapped mappers. With
+ * metrics enabled, each compiled or interpreted mapper increments the invocation counter of its pair.</p>
+ */
+public final class MappingMetrics implements MappingMetricsMXBean {
+
+    public static final String PROPERTY = "reflectmap.metrics";
+
+    public static final String OBJECT_NAME = "com.reflectmap:type=MappingMetrics";
+
+    public static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    /**
+     * Every pair's counters, for enumeration. Held weakly: the counters are owned by the {@link PairCounterStore} of
+     * their copy mode, which keys them by class like {@code CompiledLambdaStore}, so they never keep a class or its
+     * class loader alive.
+     */
+    private static final List<WeakReference<PairCounters>> COUNTERS = new ArrayList<>();
+
+    static {
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new MappingMetrics(), new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                // Already registered by another class loader, or no MBean server: the Java API still works.
+            }
+        }
+    }
+
+    private MappingMetrics() {}
+
+    /**
+     * Wraps a compiler of consumers so every compilation is timed and counted, and every mapper it produces counts
+     * its invocations. Only called when {@link #ENABLED}.
+     */
+    public static Compiler<BiConsumer<Object, Object>> consumers(String copyMode, Compiler<BiConsumer<Object, Object>> compiler) {
+        return consumers(copyMode, null, compiler);
+    }
+
+    /**
+     * Wraps the compiler of a projection store like {@link #consumers(String, Compiler)}, counting its pairs
+     * separately from the main mappers of the copy mode.
+     */
+    public static Compiler<BiConsumer<Object, Object>> consumers(String copyMode, String storeName, Compiler<BiConsumer<Object, Object>> compiler) {
+        PairCounterStore store = new PairCounterStore(copyMode, storeName);
+        return new Compiler<>() {
+            @Override
+            public BiConsumer<Object, Object> compile(Class<?> srcType, Class<?> dstType) throws Throwable {
+                PairCounters counters = counters(store, srcType, dstType);
+                return counting(counters, timed(counters, () -> compiler.compile(srcType, dstType)));
+            }
+
+            @Override
+            public BiConsumer<Object, Object> interpret(Class<?> srcType, Class<?> dstType) throws Throwable {
+                PairCounters counters = counters(store, srcType, dstType);
+                BiConsumer<Object, Object> interpreted = compiler.interpret(srcType, dstType);
+                return interpreted != null ? counting(counters, interpreted) : null;
+            }
+        };
+    }
+
+    /**
+     * Wraps a compiler of factories like {@link #consumers(String, Compiler)}.
+     */
+    public static Compiler<Function<Object, Object>> factories(String copyMode, Compiler<Function<Object, Object>> compiler) {
+        PairCounterStore store = new PairCounterStore(copyMode, null);
+        return (srcType, dstType) -> {
+            PairCounters counters = counters(store, srcType, dstType);
+            Function<Object, Object> factory = timed(counters, () -> compiler.compile(srcType, dstType));
+            return src -> {
+                counters.invocations.increment();
+                return factory.apply(src);
+            };
+        };
+    }
+
+    /**
+     * Wraps the compiler of the change store like {@link #consumers(String, String, Compiler)}.
+     */
+    public static Compiler<ChangeMapper> changes(String copyMode, String storeName, Compiler<ChangeMapper> compiler) {
+        PairCounterStore store = new PairCounterStore(copyMode, storeName);
+        return (srcType, dstType) -> {
+            PairCounters counters = counters(store, srcType, dstType);
+            return timed(counters, () -> compiler.compile(srcType, dstType)).onCall(counters.invocations::increment);
+        };
+    }
+
+    /**
+     * A snapshot of the counters of every pair compiled or interpreted so far.
+     */
+    public static List<PairCounters> pairs() {
+        List<PairCounters> pairs = new ArrayList<>();
+        synchronized (COUNTERS) {
+            COUNTERS.removeIf(reference -> {
+                PairCounters counters = reference.get();
+                if (counters != null) {
+                    pairs.add(counters);
+                }
+                return counters == null;
+            });
+        }
+        return pairs;
+    }
+
+    /**
+     * The counters of one store of a copy mode, keyed by srcType, then by dstType.
+     */
+    private static final class PairCounterStore extends ClassValue<ClassValue<PairCounters>> {
+
+        private final String copyMode;
+        private final String store;
+
+        PairCounterStore(String copyMode, String store) {
+            this.copyMode = copyMode;
+            this.store = store;
+        }
+
+        @Override
+        protected ClassValue<PairCounters> computeValue(Class<?> srcType) {
+            return new ClassValue<>() {
+                @Override
+                protected PairCounters computeValue(Class<?> dstType) {
+                    return new PairCounters(copyMode, store, srcType, dstType);
+                }
+            };
+        }
+    }
+
+    /**
+     * The published counters of the pair, registered for enumeration on first use. {@code ClassValue} may compute the
+     * counters on several threads, but publishes one instance, and only that one is registered.
+     */
+    private static PairCounters counters(PairCounterStore store, Class<?> srcType, Class<?> dstType) {
+        PairCounters counters = store.get(srcType).get(dstType);
+        if (!counters.registered) {
+            synchronized (COUNTERS) {
+                if (!counters.registered) {
+                    counters.registered = true;
+                    COUNTERS.add(new WeakReference<>(counters));
+                }
+            }
+        }
+        return counters;
+    }
+
+    private static <T> T timed(PairCounters counters, Compilation<T> compilation) throws Throwable {
+        long start = System.nanoTime();
+        try (CompilationScope scope = CompilationScope.open()) {
+            T compiled = compilation.run();
+            counters.compilations.increment();
+            counters.fieldsMapped.add(scope.fieldsMapped());
+            return compiled;
+        } catch (Throwable e) {
+            counters.failures.increment();
+            throw e;
+        } finally {
+            counters.compileNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private static BiConsumer<Object, Object> counting(PairCounters counters, BiConsumer<Object, Object> consumer) {
+        return (src, dst) -> {
+            counters.invocations.increment();
+            consumer.accept(src, dst);
+        };
+    }
+
+    @FunctionalInterface
+    private interface Compilation<T> {
+        T run() throws Throwable;
+    }
+
+    @Override
+    public long getCompiledMappers() {
+        return sum(PairCounters::compilations);
+    }
+
+    @Override
+    public long getCompileTimeMillis() {
+        return sum(PairCounters::compileNanos) / 1_000_000;
+    }
+
+    @Override
+    public long getFieldsMapped() {
+        return sum(PairCounters::fieldsMapped);
+    }
+
+    @Override
+    public long getCompileFailures() {
+        return sum(PairCounters::failures);
+    }
+
+    @Override
+    public long getInvocations() {
+        return sum(PairCounters::invocations);
+    }
+
+    @Override
+    public Map<String, Long> getInvocationsByPair() {
+        return byPair(PairCounters::invocations);
+    }
+
+    @Override
+    public Map<String, Long> getCompileTimeNanosByPair() {
+        return byPair(PairCounters::compileNanos);
+    }
+
+    @Override
+    public Map<String, Long> getCompileFailuresByPair() {
+        return byPair(PairCounters::failures);
+    }
+
+    private static long sum(ToLongFunction<PairCounters> counter) {
+        long sum = 0;
+        for (PairCounters counters : pairs()) {
+            sum += counter.applyAsLong(counters);
+        }
+        return sum;
+    }
+
+    private static Map<String, Long> byPair(ToLongFunction<PairCounters> counter) {
+        Map<String, Long> values = new TreeMap<>();
+        for (PairCounters counters : pairs()) {
+            // Same-named classes from different class loaders are reported together.
+            values.merge(counters.name(), counter.applyAsLong(counters), Long::sum);
+        }
+        return values;
+    }
+}
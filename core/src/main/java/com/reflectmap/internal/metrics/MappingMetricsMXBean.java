@@ -0,0 +1,26 @@
+package com.reflectmap.internal.metrics;
+
+import java.util.Map;
+
+/**
+ * The JMX view of {@link MappingMetrics}, registered as {@value MappingMetrics#OBJECT_NAME}. Totals cover every copy
+ * mode and pair; the maps are keyed by {@code "<copy mode> <source type> <destination type>"}.
+ */
+public interface MappingMetricsMXBean {
+
+    long getCompiledMappers();
+
+    long getCompileTimeMillis();
+
+    long getFieldsMapped();
+
+    long getCompileFailures();
+
+    long getInvocations();
+
+    Map<String, Long> getInvocationsByPair();
+
+    Map<String, Long> getCompileTimeNanosByPair();
+
+    Map<String, Long> getCompileFailuresByPair();
+}
@@ -0,0 +1,81 @@
+package com.reflectmap.internal.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counters of a single (copy mode, store, srcType, dstType) tuple, where the store is null for the main mapper of
+ * the copy mode. Every counter is a striped {@link LongAdder}, so
+ * threads mapping the same pair do not contend on a shared cache line.
+ */
+public final class PairCounters {
+
+    final String copyMode;
+    final String store;
+    final Class<?> srcType;
+    final Class<?> dstType;
+
+    final LongAdder compilations = new LongAdder();
+    final LongAdder compileNanos = new LongAdder();
+    final LongAdder fieldsMapped = new LongAdder();
+    final LongAdder failures = new LongAdder();
+    final LongAdder invocations = new LongAdder();
+
+    /**
+     * Whether {@link MappingMetrics} lists these counters. Written under its registry's lock.
+     */
+    volatile boolean registered;
+
+    PairCounters(String copyMode, String store, Class<?> srcType, Class<?> dstType) {
+        this.copyMode = copyMode;
+        this.store = store;
+        this.srcType = srcType;
+        this.dstType = dstType;
+    }
+
+    public String copyMode() {
+        return copyMode;
+    }
+
+    /**
+     * The store of a projection or of change mapping, such as {@code group:summary} or {@code changes}, or null for
+     * the main mapper.
+     */
+    public String store() {
+        return store;
+    }
+
+    public Class<?> srcType() {
+        return srcType;
+    }
+
+    public Class<?> dstType() {
+        return dstType;
+    }
+
+    public long compilations() {
+        return compilations.sum();
+    }
+
+    public long compileNanos() {
+        return compileNanos.sum();
+    }
+
+    /**
+     * The fields written by the compiled mapper, including parameters of a compiled constructor.
+     */
+    public long fieldsMapped() {
+        return fieldsMapped.sum();
+    }
+
+    public long failures() {
+        return failures.sum();
+    }
+
+    public long invocations() {
+        return invocations.sum();
+    }
+
+    String name() {
+        return (store != null ? copyMode + "[" + store + "]" : copyMode) + " " + srcType.getName() + " " + dstType.getName();
+    }
+}
@@ -0,0 +1,101 @@
+package com.reflectmap.internal.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Lists the classes of a package and its subpackages that a class loader can see in local directories and jar files.
+ *
+ * <p>Classes are loaded without being initialized. Classes which fail to load, for example because an optional
+ * dependency is missing, are skipped. Other class path entries, such as jrt: or remote URLs, are not scanned.</p>
+ */
+public final class ClasspathScanner {
+
+    private static final String CLASS_SUFFIX = ".class";
+
+    private ClasspathScanner() {}
+
+    /**
+     * @throws IllegalArgumentException if the package prefix is blank, since the whole class path would be scanned.
+     */
+    public static Set<Class<?>> scan(String packagePrefix, ClassLoader loader) throws IOException {
+        if (packagePrefix.isBlank()) {
+            throw new IllegalArgumentException("A package prefix is required to scan the class path");
+        }
+        String path = packagePrefix.replace('.', '/');
+        Set<String> classNames = new LinkedHashSet<>();
+
+        Enumeration<URL> resources = loader.getResources(path);
+        while (resources.hasMoreElements()) {
+            URL resource = resources.nextElement();
+            switch (resource.getProtocol()) {
+                case "file" -> scanDirectory(toPath(resource), packagePrefix, classNames);
+                case "jar" -> scanJar(resource, path, classNames);
+                default -> {}
+            }
+        }
+
+        Set<Class<?>> classes = new LinkedHashSet<>();
+        for (String className : classNames) {
+            if (className.endsWith("-info")) {
+                continue;
+            }
+            try {
+                classes.add(Class.forName(className, false, loader));
+            } catch (ClassNotFoundException | LinkageError e) {
+                // Not loadable in this runtime, so it can never be mapped either.
+            }
+        }
+        return classes;
+    }
+
+    private static void scanDirectory(Path directory, String packagePrefix, Set<String> classNames) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(CLASS_SUFFIX)).forEach(file -> {
+                String relative = directory.relativize(file).toString().replace(file.getFileSystem().getSeparator(), ".");
+                classNames.add(packagePrefix + "." + relative.substring(0, relative.length() - CLASS_SUFFIX.length()));
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void scanJar(URL resource, String path, Set<String> classNames) throws IOException {
+        URLConnection connection = resource.openConnection();
+        if (!(connection instanceof JarURLConnection jarConnection)) {
+            return;
+        }
+        jarConnection.setUseCaches(false);
+
+        try (JarFile jar = jarConnection.getJarFile()) {
+            Enumeration<JarEntry> entries = jar.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                if (name.startsWith(path + "/") && name.endsWith(CLASS_SUFFIX)) {
+                    classNames.add(name.substring(0, name.length() - CLASS_SUFFIX.length()).replace('/', '.'));
+                }
+            }
+        }
+    }
+
+    private static Path toPath(URL resource) throws IOException {
+        try {
+            return Paths.get(resource.toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException("Malformed class path entry " + resource, e);
+        }
+    }
+}
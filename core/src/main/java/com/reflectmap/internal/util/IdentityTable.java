@@ -0,0 +1,118 @@
+package com.reflectmap.internal.util;
+
+import java.util.Arrays;
+
+/**
+ * An identity map from source objects to their copies, for a single deep copy on a single thread.
+ *
+ * <p>Keys and values are stored next to each other in one flat array, and collisions are resolved by linear probing,
+ * so a lookup is an identity hash and a few array reads, with no entry objects. The table is meant to be reused by
+ * every copy on its thread: {@link #exit()} clears it when the outermost copy finishes, keeping its capacity unless a
+ * very large graph grew it past {@link #MAX_RETAINED_LENGTH}.</p>
+ */
+public final class IdentityTable {
+
+    /**
+     * The initial array length, holding up to 64 key/value pairs.
+     */
+    private static final int INITIAL_LENGTH = 128;
+
+    /**
+     * Tables grown past this array length are released when cleared, rather than kept for the next copy.
+     */
+    private static final int MAX_RETAINED_LENGTH = 1 << 16;
+
+    private Object[] table = new Object[INITIAL_LENGTH];
+    private int size;
+    private int depth;
+
+    /**
+     * Enters a copy. Returns true if it is the outermost copy on this thread.
+     */
+    public boolean enter() {
+        return depth++ == 0;
+    }
+
+    /**
+     * Exits a copy, clearing the table when the outermost copy finishes.
+     */
+    public void exit() {
+        if (--depth == 0) {
+            clear();
+        }
+    }
+
+    public Object get(Object key) {
+        Object[] tab = table;
+        int i = index(key, tab.length);
+        while (true) {
+            Object k = tab[i];
+            if (k == key) {
+                return tab[i + 1];
+            }
+            if (k == null) {
+                return null;
+            }
+            i = next(i, tab.length);
+        }
+    }
+
+    public void put(Object key, Object value) {
+        Object[] tab = table;
+        int i = index(key, tab.length);
+        for (Object k; (k = tab[i]) != null; i = next(i, tab.length)) {
+            if (k == key) {
+                tab[i + 1] = value;
+                return;
+            }
+        }
+
+        tab[i] = key;
+        tab[i + 1] = value;
+        // Keep at most two thirds of the pair slots in use, so probe sequences stay short.
+        if (3 * ++size >= tab.length) {
+            resize();
+        }
+    }
+
+    private void resize() {
+        Object[] oldTable = table;
+        Object[] newTable = new Object[oldTable.length * 2];
+        for (int j = 0; j < oldTable.length; j += 2) {
+            Object key = oldTable[j];
+            if (key != null) {
+                int i = index(key, newTable.length);
+                while (newTable[i] != null) {
+                    i = next(i, newTable.length);
+                }
+                newTable[i] = key;
+                newTable[i + 1] = oldTable[j + 1];
+            }
+        }
+        table = newTable;
+    }
+
+    private void clear() {
+        if (size == 0) {
+            return;
+        }
+        if (table.length > MAX_RETAINED_LENGTH) {
+            table = new Object[INITIAL_LENGTH];
+        } else {
+            Arrays.fill(table, null);
+        }
+        size = 0;
+    }
+
+    /**
+     * An even index derived from the identity hash, spreading the low bits as {@code IdentityHashMap} does.
+     */
+    private static int index(Object key, int length) {
+        int h = System.identityHashCode(key);
+        return ((h << 1) - (h << 8)) & (length - 1);
+    }
+
+    private static int next(int i, int length) {
+        return (i + 2) & (length - 1);
+    }
+}
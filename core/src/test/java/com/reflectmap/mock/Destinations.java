@@ -1,10 +1,14 @@
 package com.reflectmap.mock;
 
 import com.reflectmap.annotation.FieldMapping;
+import com.reflectmap.annotation.MappingConstructor;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
+import java.util.List;
+import java.util.UUID;
+
 import static com.reflectmap.mock.Sources.*;
 
 public class Destinations {
@@ -35,11 +39,11 @@ public class Destinations {
         private Object destValue;
     }
 
-    // This destination intentionally causes a type incompatibility: SourceA.value is a String.
+    // This destination intentionally causes a type incompatibility: SourceA.value is a String, with no converter to a List.
     @Getter
     public static class Destination3 {
         @FieldMapping(srcType = SourceA.class, srcFieldName = "value")
-        private int destValue;
+        private List<String> destValue;
     }
 
     // Destination4 expects a SourceA candidate, but we will supply SourceB.
@@ -52,6 +56,13 @@ public class Destinations {
     @Getter
     @Setter
     public static class DestinationWithInner {
+        @FieldMapping(srcType = SourceAWithInner.class, srcFieldName = "innerA.value", nullSafe = true)
+        private Object destValue;
+    }
+
+    @Getter
+    @Setter
+    public static class DestinationWithInnerNotNullSafe {
         @FieldMapping(srcType = SourceAWithInner.class, srcFieldName = "innerA.value")
         private Object destValue;
     }
@@ -68,4 +79,122 @@ public class Destinations {
         public String getDestValueA() { return destValueA; }
         public int getDestValueB() { return destValueB; }
     }
+
+    @Getter
+    public static class DestinationWithGroups {
+        @FieldMapping(srcType = Source3Fields.class, srcFieldName = "value1", groups = {"summary", "detail"})
+        private String value1;
+        @FieldMapping(srcType = Source3Fields.class, srcFieldName = "value2", groups = "detail")
+        private String value2;
+        private String value3;
+    }
+
+    @Getter
+    public static class DirectDestinationB {
+        private int value;
+    }
+
+    @Getter
+    public static class DirectDestinationPrimitives {
+        private boolean flag;
+        private byte code;
+        private char side;
+        private short venue;
+        private int quantity;
+        private long timestamp;
+        private float spread;
+        private double price;
+    }
+
+    @Getter
+    public static class DestinationMixedModes {
+        @FieldMapping(srcType = Source3Fields.class, srcFieldName = "value2")
+        private String value1;
+        private String value3;
+        @FieldMapping(srcType = Source3Fields.class, srcFieldName = "value1")
+        private String destValue;
+    }
+
+    public record DestinationRecord(
+            @FieldMapping(srcType = Source3Fields.class, srcFieldName = "value2") String first,
+            String value3,
+            int unmapped) {}
+
+    @Getter
+    public static class ImmutableDestinationB {
+        private final int value;
+        private final String label;
+
+        @MappingConstructor({"value", "label"})
+        private ImmutableDestinationB(int value, String label) {
+            this.value = value;
+            this.label = label;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class InnerDestination {
+        private String value;
+        private InnerDestination child;
+    }
+
+    @Getter
+    @Setter
+    public static class DestinationWithNestedPath {
+        @FieldMapping(srcType = SourceA.class, srcFieldName = "value", dstFieldName = "child.value", createMissing = true)
+        private InnerDestination created;
+
+        @FieldMapping(srcType = SourceA.class, srcFieldName = "value", dstFieldName = "value")
+        private InnerDestination existing;
+    }
+
+    @Getter
+    public static class DestinationConversions {
+        private long count;
+        private byte narrowed;
+        private int amount;
+        private long createdAt;
+        private String color;
+        private Color parsedColor;
+        private int boxed;
+        private Long widenedBoxed;
+        private UUID id;
+    }
+
+    @Getter
+    public static class DestinationTimestamp {
+        private String createdAt;
+    }
+
+    @Getter
+    public static class DestinationEntityBase {
+        private long id;
+        private int version;
+        @FieldMapping(srcType = SourceEntity.class, srcFieldName = "name")
+        private String label;
+    }
+
+    /**
+     * Declares a {@code name} field which no source can be mapped to, hidden by {@link DestinationEntityShadowing}.
+     */
+    public static class DestinationEntityShadowedBase {
+        @Getter
+        private long id;
+        private List<String> name;
+
+        public List<String> getShadowedName() { return name; }
+    }
+
+    @Getter
+    public static class DestinationEntityShadowing extends DestinationEntityShadowedBase {
+        private String name;
+    }
+
+    @Getter
+    public static class DestinationEntity extends DestinationEntityBase {
+        private String name;
+        @FieldMapping(srcType = SourceEntity.class, srcFieldName = "version")
+        private int revision;
+    }
 }
@@ -2,6 +2,13 @@ package com.reflectmap.mock;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
 
 public class Sources {
     /**
@@ -38,4 +45,101 @@ public class Sources {
     public static class SourceB {
         private final int value;
     }
+
+    @AllArgsConstructor
+    @Getter
+    public static class SourcePrimitives {
+        private final boolean flag;
+        private final byte code;
+        private final char side;
+        private final short venue;
+        private final int quantity;
+        private final long timestamp;
+        private final float spread;
+        private final double price;
+    }
+
+    /**
+     * A mutable graph node, used both as source and destination of deep copies.
+     */
+    @Getter
+    @Setter
+    public static class GraphNode {
+        private String name;
+        private GraphNode left;
+        private GraphNode right;
+        private GraphNode[] children;
+        private int[] weights;
+        private List<GraphNode> neighbours;
+    }
+
+    /**
+     * Deep copied onto itself, with containers the deep copy cannot recreate from their runtime class.
+     */
+    @Getter
+    @Setter
+    public static class EnumContainers {
+        private EnumSet<Color> colors;
+        private EnumMap<Color, List<String>> labels;
+    }
+
+    /**
+     * A list without a no-args constructor, which a deep copy can only recreate as an {@code ArrayList}.
+     */
+    public static class FixedCapacityList extends ArrayList<String> {
+        public FixedCapacityList(int capacity) {
+            super(capacity);
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class FixedCapacityHolder {
+        private FixedCapacityList items;
+    }
+
+    public enum Color {
+        RED, GREEN
+    }
+
+    @AllArgsConstructor
+    @Getter
+    public static class SourceConversions {
+        private final int count;
+        private final int narrowed;
+        private final String amount;
+        private final Instant createdAt;
+        private final Color color;
+        private final String parsedColor;
+        private final Integer boxed;
+        private final int widenedBoxed;
+        private final String id;
+    }
+
+    @AllArgsConstructor
+    @Getter
+    public static class SourceTimestamp {
+        private final Instant createdAt;
+    }
+
+    @Getter
+    public static class SourceEntityBase {
+        private final long id;
+        private final int version;
+
+        public SourceEntityBase(long id, int version) {
+            this.id = id;
+            this.version = version;
+        }
+    }
+
+    @Getter
+    public static class SourceEntity extends SourceEntityBase {
+        private final String name;
+
+        public SourceEntity(long id, int version, String name) {
+            super(id, version);
+            this.name = name;
+        }
+    }
 }
@@ -0,0 +1,90 @@
+package com.reflectmap.test;
+
+import static com.reflectmap.mock.Destinations.*;
+import static com.reflectmap.mock.Sources.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reflectmap.CopyMode;
+import com.reflectmap.MapperCache;
+import com.reflectmap.ReflectMap;
+import com.reflectmap.TypePair;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs in its own JVM with {@code -Dreflectmap.compile.async=true}.
+ */
+public class AsyncCompilationTest {
+
+    private static final TypePair PAIR = TypePair.of(SourcePrimitives.class, DirectDestinationPrimitives.class);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testFirstUseIsInterpretedAndSwappedForTheBackgroundCompilation() throws Exception {
+        int threads = 16;
+        SourcePrimitives src = new SourcePrimitives(true, (byte) 1, 'a', (short) 2, 3, 4L, 5f, 6d);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Path file = dir.resolve("async.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.reflectmap.Compile");
+            recording.start();
+
+            List<Future<DirectDestinationPrimitives>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return map(src);
+                }));
+            }
+            start.countDown();
+            for (Future<DirectDestinationPrimitives> result : results) {
+                assertEquals(3, result.get().getQuantity());
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (footprint().classes() == 0) {
+                assertTrue(System.nanoTime() < deadline, "the pair was not compiled in the background");
+                Thread.sleep(10);
+            }
+            assertEquals(6d, map(src).getPrice());
+
+            recording.stop();
+            recording.dump(file);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getClass("dstType").getName().equals(DirectDestinationPrimitives.class.getName()))
+                .toList();
+        assertEquals(1, events.stream().filter(event -> event.getString("tier").equals("interpreted")).count());
+        assertEquals(1, events.stream().filter(event -> event.getString("tier").equals("compiled")).count());
+        assertTrue(events.stream().filter(event -> event.getString("tier").equals("compiled"))
+                .noneMatch(event -> event.getThread() != null && !event.getThread().getJavaName().equals("reflectmap-compiler")));
+    }
+
+    private static DirectDestinationPrimitives map(SourcePrimitives src) {
+        DirectDestinationPrimitives dst = new DirectDestinationPrimitives();
+        ReflectMap.map(src, SourcePrimitives.class, dst, DirectDestinationPrimitives.class, CopyMode.DIRECT_COPY_HIDDEN_CLASS);
+        return dst;
+    }
+
+    private static MapperCache.Footprint footprint() {
+        return MapperCache.footprint().stream().filter(entry -> entry.pair().equals(PAIR)).findFirst().orElseThrow();
+    }
+}
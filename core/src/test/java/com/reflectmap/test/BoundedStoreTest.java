@@ -0,0 +1,71 @@
+package com.reflectmap.test;
+
+import static com.reflectmap.mock.Destinations.*;
+import static com.reflectmap.mock.Sources.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reflectmap.CopyMode;
+import com.reflectmap.MapperCache;
+import com.reflectmap.ReflectMap;
+import com.reflectmap.TypePair;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * Runs in its own JVM with {@code -Dreflectmap.store.maxPairs=2}.
+ */
+public class BoundedStoreTest {
+
+    private static final TypePair B = TypePair.of(SourceB.class, DirectDestinationB.class);
+    private static final TypePair A = TypePair.of(SourceA.class, Destination1.class);
+    private static final TypePair FIELDS = TypePair.of(Source3Fields.class, Destination3Fields.class);
+    private static final TypePair PRIMITIVES = TypePair.of(SourcePrimitives.class, DirectDestinationPrimitives.class);
+
+    @Test
+    void testClockEvictsPairsNotUsedSinceItsLastPass() {
+        assertEquals(2, MapperCache.maxPairs());
+
+        mapB();
+        mapA();
+        assertEquals(List.of(B, A), resident());
+
+        // The hand clears every reference bit on its first pass, then evicts the oldest pair.
+        mapFields();
+        assertEquals(List.of(A, FIELDS), resident());
+
+        // A pair used since the last pass is spared, and the next unused one is evicted.
+        mapA();
+        mapPrimitives();
+        assertEquals(List.of(A, PRIMITIVES), resident());
+
+        // An evicted pair is compiled again on its next lookup.
+        DirectDestinationB dst = mapB();
+        assertEquals(3, dst.getValue());
+        assertTrue(resident().contains(B));
+    }
+
+    private static List<TypePair> resident() {
+        return MapperCache.footprint().stream().map(MapperCache.Footprint::pair).toList();
+    }
+
+    private static DirectDestinationB mapB() {
+        DirectDestinationB dst = new DirectDestinationB();
+        ReflectMap.map(new SourceB(3), SourceB.class, dst, DirectDestinationB.class, CopyMode.DIRECT_COPY);
+        return dst;
+    }
+
+    private static void mapA() {
+        ReflectMap.map(new SourceA("Hello"), SourceA.class, new Destination1(), Destination1.class, CopyMode.ANNOTATION_DRIVEN);
+    }
+
+    private static void mapFields() {
+        ReflectMap.map(new Source3Fields("1", "2", "3"), Source3Fields.class, new Destination3Fields(), Destination3Fields.class,
+                CopyMode.ANNOTATION_DRIVEN);
+    }
+
+    private static void mapPrimitives() {
+        ReflectMap.map(new SourcePrimitives(true, (byte) 1, 'a', (short) 2, 3, 4L, 5f, 6.0), SourcePrimitives.class,
+                new DirectDestinationPrimitives(), DirectDestinationPrimitives.class, CopyMode.DIRECT_COPY);
+    }
+}
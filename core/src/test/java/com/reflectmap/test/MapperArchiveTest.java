@@ -0,0 +1,81 @@
+package com.reflectmap.test;
+
+import static com.reflectmap.mock.Destinations.*;
+import static com.reflectmap.mock.Sources.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reflectmap.CopyMode;
+import com.reflectmap.MapperArchive;
+import com.reflectmap.Projection;
+import com.reflectmap.ReflectMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class MapperArchiveTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testRecordsCompiledMappers() throws Exception {
+        Path archive = dir.resolve("mappers.txt");
+
+        MapperArchive.startRecording();
+        try {
+            SourcePrimitives src = new SourcePrimitives(true, (byte) 1, 'a', (short) 2, 3, 4L, 5f, 6d);
+            ReflectMap.map(src, SourcePrimitives.class, new DirectDestinationPrimitives(), DirectDestinationPrimitives.class,
+                    CopyMode.DIRECT_COPY_HIDDEN_CLASS);
+            MapperArchive.write(archive);
+        } finally {
+            MapperArchive.stopRecording();
+        }
+
+        String expected = "DIRECT_COPY_HIDDEN_CLASS " + SourcePrimitives.class.getName() + " " + DirectDestinationPrimitives.class.getName();
+        assertTrue(Files.readAllLines(archive).contains(expected));
+    }
+
+    @Test
+    void testRecordsProjectionAndChangeMappersInTheirOwnStores() throws Exception {
+        Path archive = dir.resolve("mappers.txt");
+
+        MapperArchive.startRecording();
+        try {
+            Source3Fields src = new Source3Fields("One", "Two", "Three");
+            ReflectMap.map(src, Source3Fields.class, new DestinationWithGroups(), DestinationWithGroups.class,
+                    CopyMode.ANNOTATION_DRIVEN_NON_NULL, Projection.ofGroup("detail"));
+            ReflectMap.map(src, Source3Fields.class, new DestinationWithGroups(), DestinationWithGroups.class,
+                    CopyMode.ANNOTATION_DRIVEN_NON_NULL, Projection.ofFields("value3", "value2"));
+            ReflectMap.mapChanges(new SourceA("Hello"), SourceA.class, new Destination1(), Destination1.class,
+                    CopyMode.ANNOTATION_DRIVEN_HIDDEN_CLASS);
+            MapperArchive.write(archive);
+        } finally {
+            MapperArchive.stopRecording();
+        }
+
+        String groups = "ANNOTATION_DRIVEN_NON_NULL " + Source3Fields.class.getName() + " " + DestinationWithGroups.class.getName();
+        String changes = "ANNOTATION_DRIVEN_HIDDEN_CLASS " + SourceA.class.getName() + " " + Destination1.class.getName() + " changes";
+        List<String> lines = Files.readAllLines(archive);
+        assertTrue(lines.contains(groups + " group:detail"));
+        assertTrue(lines.contains(groups + " fields:value2,value3"));
+        assertTrue(lines.contains(changes));
+        assertFalse(lines.contains(groups));
+
+        assertEquals(List.of(), MapperArchive.load(archive, getClass().getClassLoader()));
+    }
+
+    @Test
+    void testLoadPrecompilesAndReportsStaleEntries() throws Exception {
+        Path archive = dir.resolve("mappers.txt");
+        String valid = "DIRECT_COPY " + SourceB.class.getName() + " " + DirectDestinationB.class.getName();
+        String missingType = "DIRECT_COPY com.reflectmap.mock.Removed " + DirectDestinationB.class.getName();
+        String noFields = "ANNOTATION_DRIVEN " + SourceB.class.getName() + " " + Destination4.class.getName();
+        Files.write(archive, List.of("# comment", valid, missingType, noFields));
+
+        List<String> failures = MapperArchive.load(archive, getClass().getClassLoader());
+        assertEquals(List.of(missingType, noFields), failures);
+    }
+}
@@ -0,0 +1,79 @@
+package com.reflectmap.test;
+
+import static com.reflectmap.mock.Destinations.*;
+import static com.reflectmap.mock.Sources.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reflectmap.CopyMode;
+import com.reflectmap.Projection;
+import com.reflectmap.ReflectMap;
+import com.reflectmap.ReflectMapMetrics;
+import com.reflectmap.TypePair;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Runs in its own JVM with {@code -Dreflectmap.metrics=true}.
+ */
+public class MetricsTest {
+
+    @Test
+    void testCountsCompilationsFieldsAndInvocationsPerPair() throws Exception {
+        assertTrue(ReflectMapMetrics.isEnabled());
+
+        for (int i = 0; i < 3; i++) {
+            ReflectMap.map(new Source3Fields("1", "2", "3"), Source3Fields.class, new Destination3Fields(), Destination3Fields.class,
+                    CopyMode.ANNOTATION_DRIVEN);
+        }
+
+        ReflectMapMetrics.PairMetrics metrics = ReflectMapMetrics.pairs().stream()
+                .filter(pair -> pair.copyMode() == CopyMode.ANNOTATION_DRIVEN
+                        && pair.pair().equals(TypePair.of(Source3Fields.class, Destination3Fields.class)))
+                .findFirst().orElseThrow();
+        assertEquals(1, metrics.compiledMappers());
+        assertEquals(3, metrics.fieldsMapped());
+        assertEquals(0, metrics.compileFailures());
+        assertEquals(3, metrics.invocations());
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("com.reflectmap:type=MappingMetrics");
+        assertTrue(server.isRegistered(name));
+        assertEquals(1L, server.getAttribute(name, "CompiledMappers"));
+        assertEquals(3L, server.getAttribute(name, "Invocations"));
+        TabularData byPair = (TabularData) server.getAttribute(name, "InvocationsByPair");
+        String key = "ANNOTATION_DRIVEN " + Source3Fields.class.getName() + " " + Destination3Fields.class.getName();
+        assertEquals(3L, byPair.get(new Object[] {key}).get("value"));
+
+        assertCountsProjectionsAndChangeMappingInTheirOwnStores();
+    }
+
+    /**
+     * Run after the totals above are checked, since every pair adds to them.
+     */
+    private static void assertCountsProjectionsAndChangeMappingInTheirOwnStores() throws Exception {
+        Source3Fields src = new Source3Fields("1", "2", "3");
+        for (int i = 0; i < 2; i++) {
+            ReflectMap.map(src, Source3Fields.class, new DestinationWithGroups(), DestinationWithGroups.class,
+                    CopyMode.ANNOTATION_DRIVEN_HIDDEN_CLASS, Projection.ofGroup("summary"));
+            ReflectMap.mapChanges(src, Source3Fields.class, new Destination3Fields(), Destination3Fields.class,
+                    CopyMode.ANNOTATION_DRIVEN_HIDDEN_CLASS);
+        }
+
+        TypePair pair = TypePair.of(Source3Fields.class, DestinationWithGroups.class);
+        ReflectMapMetrics.PairMetrics projection = ReflectMapMetrics.pairs().stream()
+                .filter(metrics -> metrics.copyMode() == CopyMode.ANNOTATION_DRIVEN_HIDDEN_CLASS && metrics.pair().equals(pair))
+                .findFirst().orElseThrow();
+        assertEquals("group:summary", projection.store());
+        assertEquals(1, projection.compiledMappers());
+        assertEquals(2, projection.invocations());
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        TabularData byPair = (TabularData) server.getAttribute(new ObjectName("com.reflectmap:type=MappingMetrics"), "InvocationsByPair");
+        String key = "ANNOTATION_DRIVEN_HIDDEN_CLASS[changes] " + Source3Fields.class.getName() + " " + Destination3Fields.class.getName();
+        assertEquals(2L, byPair.get(new Object[] {key}).get("value"));
+    }
+}
@@ -4,13 +4,53 @@ import static com.reflectmap.mock.Destinations.*;
 import static com.reflectmap.mock.Sources.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.reflectmap.BatchOptions;
+import com.reflectmap.CopyMode;
+import com.reflectmap.Mapper;
+import com.reflectmap.MapperCache;
+import com.reflectmap.PrecompileReport;
+import com.reflectmap.Projection;
 import com.reflectmap.ReflectMap;
+import com.reflectmap.ReflectMapMetrics;
+import com.reflectmap.TypePair;
+import com.reflectmap.exception.ConstructorNotFoundException;
+import com.reflectmap.exception.FieldNotFoundException;
 import com.reflectmap.exception.FieldsNotFoundException;
 import com.reflectmap.exception.IncompatibleFieldTypesException;
+import com.reflectmap.exception.ReflectMapException;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.ToolProvider;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class ReflectMapTest {
 
+    @TempDir
+    Path dir;
+
     @Test
     void testCopyFromSourceAToDestination1() {
         SourceA src = new SourceA("Hello World");
@@ -69,6 +109,27 @@ public class ReflectMapTest {
                 "DestinationWithInner should receive the value from the inner container");
     }
 
+    @Test
+    void testNullIntermediateSourceYieldsNull() {
+        SourceAWithInner src = new SourceAWithInner(null);
+        for (CopyMode copyMode : List.of(CopyMode.ANNOTATION_DRIVEN, CopyMode.ANNOTATION_DRIVEN_HIDDEN_CLASS)) {
+            DestinationWithInner dst = new DestinationWithInner();
+            dst.setDestValue("Stale");
+
+            ReflectMap.map(src, SourceAWithInner.class, dst, DestinationWithInner.class, copyMode);
+            assertNull(dst.getDestValue());
+        }
+    }
+
+    @Test
+    void testNullIntermediateSourceFailsByDefault() {
+        SourceAWithInner src = new SourceAWithInner(null);
+        for (CopyMode copyMode : List.of(CopyMode.ANNOTATION_DRIVEN, CopyMode.ANNOTATION_DRIVEN_HIDDEN_CLASS)) {
+            assertThrows(NullPointerException.class, () -> ReflectMap.map(src, SourceAWithInner.class,
+                    new DestinationWithInnerNotNullSafe(), DestinationWithInnerNotNullSafe.class, copyMode));
+        }
+    }
+
     @Test
     void testCopyMultipleSourceFieldsToDestination() {
         Source3Fields src = new Source3Fields("Hello1", "Hello2", "Hello3");
@@ -78,4 +139,648 @@ public class ReflectMapTest {
         assertEquals(src.getValue2(), dst.getDestValue2());
         assertEquals(src.getValue3(), dst.getDestValue3());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testHiddenClassCopyMultipleSourceFieldsToDestination() {
+        Source3Fields src = new Source3Fields("Hello1", "Hello2", "Hello3");
+        Destination3Fields dst = new Destination3Fields();
+        ReflectMap.map(src, Source3Fields.class, dst, Destination3Fields.class, CopyMode.ANNOTATION_DRIVEN_HIDDEN_CLASS);
+        assertEquals(src.getValue1(), dst.getDestValue1());
+        assertEquals(src.getValue2(), dst.getDestValue2());
+        assertEquals(src.getValue3(), dst.getDestValue3());
+    }
+
+    @Test
+    void testHiddenClassCopyPrimitiveToObjectField() {
+        SourceB src = new SourceB(1_000_000);
+        Destination2 dst = new Destination2();
+
+        ReflectMap.map(src, SourceB.class, dst, Destination2.class, CopyMode.ANNOTATION_DRIVEN_HIDDEN_CLASS);
+        assertEquals(1_000_000, dst.getDestValue());
+    }
+
+    @Test
+    void testHiddenClassDirectCopyPrimitiveField() {
+        SourceB src = new SourceB(42);
+        DirectDestinationB dst = new DirectDestinationB();
+
+        ReflectMap.map(src, SourceB.class, dst, DirectDestinationB.class, CopyMode.DIRECT_COPY_HIDDEN_CLASS);
+        assertEquals(42, dst.getValue());
+    }
+
+    @Test
+    void testDirectCopyEveryPrimitiveType() {
+        SourcePrimitives src = new SourcePrimitives(true, (byte) -100, 'Z', (short) 30_000, 1_000_000,
+                1_700_000_000_000L, 0.25f, 101.375);
+        DirectDestinationPrimitives dst = new DirectDestinationPrimitives();
+
+        ReflectMap.map(src, SourcePrimitives.class, dst, DirectDestinationPrimitives.class, CopyMode.DIRECT_COPY);
+        assertTrue(dst.isFlag());
+        assertEquals((byte) -100, dst.getCode());
+        assertEquals('Z', dst.getSide());
+        assertEquals((short) 30_000, dst.getVenue());
+        assertEquals(1_000_000, dst.getQuantity());
+        assertEquals(1_700_000_000_000L, dst.getTimestamp());
+        assertEquals(0.25f, dst.getSpread());
+        assertEquals(101.375, dst.getPrice());
+    }
+
+    @Test
+    void testMapperCopiesIntoExistingDestination() {
+        Mapper<Source3Fields, Destination3Fields> mapper = ReflectMap.mapper(Source3Fields.class, Destination3Fields.class);
+        Source3Fields src = new Source3Fields("Hello1", "Hello2", "Hello3");
+        Destination3Fields dst = new Destination3Fields();
+
+        mapper.map(src, dst);
+        assertEquals(src.getValue1(), dst.getDestValue1());
+        assertEquals(src.getValue2(), dst.getDestValue2());
+        assertEquals(src.getValue3(), dst.getDestValue3());
+    }
+
+    @Test
+    void testMapperCreatesDestination() {
+        Mapper<SourceB, DirectDestinationB> mapper = ReflectMap.mapper(SourceB.class, DirectDestinationB.class, CopyMode.DIRECT_COPY);
+
+        DirectDestinationB dst = mapper.map(new SourceB(7));
+        assertEquals(7, dst.getValue());
+    }
+
+    @Test
+    void testMapperResolvesEagerly() {
+        assertThrows(FieldsNotFoundException.class, () -> ReflectMap.mapper(SourceB.class, Destination4.class));
+    }
+
+    @Test
+    void testAllModesFuseAnnotatedAndSameNamedFields() {
+        Source3Fields src = new Source3Fields("Hello1", "Hello2", "Hello3");
+        DestinationMixedModes dst = new DestinationMixedModes();
+
+        ReflectMap.map(src, Source3Fields.class, dst, DestinationMixedModes.class, CopyMode.ALL);
+        assertEquals("Hello2", dst.getValue1(), "the annotation should take precedence over the same-named field");
+        assertEquals("Hello3", dst.getValue3());
+        assertEquals("Hello1", dst.getDestValue());
+    }
+
+    @Test
+    void testMapAllListAcrossPool() {
+        List<SourceB> src = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            src.add(new SourceB(i));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            BatchOptions options = BatchOptions.parallel(pool).withParallelThreshold(16);
+            List<DirectDestinationB> dst = ReflectMap.mapAll(src, SourceB.class, DirectDestinationB.class, CopyMode.DIRECT_COPY, options);
+            assertEquals(src.size(), dst.size());
+            for (int i = 0; i < dst.size(); i++) {
+                assertEquals(i, dst.get(i).getValue());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testMapAllIntoPreallocatedArray() {
+        SourceB[] src = {new SourceB(1), new SourceB(2), new SourceB(3)};
+        DirectDestinationB existing = new DirectDestinationB();
+        DirectDestinationB[] dst = {existing, null, new DirectDestinationB()};
+
+        ReflectMap.mapAll(src, SourceB.class, dst, DirectDestinationB.class, CopyMode.DIRECT_COPY, BatchOptions.SEQUENTIAL);
+        assertSame(existing, dst[0]);
+        assertEquals(1, dst[0].getValue());
+        assertEquals(2, dst[1].getValue());
+        assertEquals(3, dst[2].getValue());
+
+        assertThrows(IllegalArgumentException.class, () -> ReflectMap.mapAll(src, SourceB.class, new DirectDestinationB[2],
+                DirectDestinationB.class, CopyMode.DIRECT_COPY, BatchOptions.SEQUENTIAL));
+    }
+
+    @Test
+    void testMappingFunctionInStream() {
+        List<Integer> values = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        List<DirectDestinationB> dst = values.stream()
+                .map(SourceB::new)
+                .map(ReflectMap.mapping(SourceB.class, DirectDestinationB.class, CopyMode.DIRECT_COPY))
+                .collect(Collectors.toList());
+
+        assertEquals(values, dst.stream().map(DirectDestinationB::getValue).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testMappingFunctionUsesSupplier() {
+        DirectDestinationB pooled = new DirectDestinationB();
+        Function<SourceB, DirectDestinationB> mapping = ReflectMap.mapping(SourceB.class, DirectDestinationB.class, CopyMode.DIRECT_COPY, () -> pooled);
+
+        assertSame(pooled, mapping.apply(new SourceB(5)));
+        assertEquals(5, pooled.getValue());
+    }
+
+    @Test
+    void testMappingSpliteratorKeepsSizeAndSplits() {
+        List<SourceB> src = IntStream.range(0, 1_000).mapToObj(SourceB::new).collect(Collectors.toList());
+        Mapper<SourceB, DirectDestinationB> mapper = ReflectMap.mapper(SourceB.class, DirectDestinationB.class, CopyMode.DIRECT_COPY);
+
+        Spliterator<DirectDestinationB> spliterator = mapper.spliterator(src.spliterator());
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+        assertEquals(1_000, spliterator.getExactSizeIfKnown());
+
+        long sum = mapper.mapAll(src.parallelStream()).mapToLong(DirectDestinationB::getValue).sum();
+        assertEquals(999L * 1_000 / 2, sum);
+    }
+
+    @Test
+    void testMapCreatesDestinationWithCompiledConstructor() {
+        DirectDestinationB dst = ReflectMap.map(new SourceB(9), DirectDestinationB.class, CopyMode.DIRECT_COPY);
+        assertEquals(9, dst.getValue());
+        assertNotSame(dst, ReflectMap.map(new SourceB(9), DirectDestinationB.class, CopyMode.DIRECT_COPY));
+    }
+
+    @Test
+    void testMapWithoutNoArgsConstructorThrowsException() {
+        assertThrows(ConstructorNotFoundException.class, () -> ReflectMap.map(new SourceB(1), SourceB.class, CopyMode.DIRECT_COPY));
+    }
+
+    @Test
+    void testConstructorModeCreatesRecord() {
+        Source3Fields src = new Source3Fields("Hello1", "Hello2", "Hello3");
+
+        DestinationRecord dst = ReflectMap.map(src, DestinationRecord.class, CopyMode.CONSTRUCTOR);
+        assertEquals(new DestinationRecord("Hello2", "Hello3", 0), dst);
+        assertEquals(List.of(dst, dst), ReflectMap.mapAll(List.of(src, src), Source3Fields.class, DestinationRecord.class,
+                CopyMode.CONSTRUCTOR, BatchOptions.DEFAULT));
+    }
+
+    @Test
+    void testConstructorModeUsesAnnotatedConstructor() {
+        Mapper<SourceB, ImmutableDestinationB> mapper = ReflectMap.mapper(SourceB.class, ImmutableDestinationB.class, CopyMode.CONSTRUCTOR);
+
+        ImmutableDestinationB dst = mapper.map(new SourceB(17));
+        assertEquals(17, dst.getValue());
+        assertNull(dst.getLabel());
+        assertThrows(UnsupportedOperationException.class, () -> mapper.map(new SourceB(1), dst));
+        assertThrows(ReflectMapException.class,
+                () -> ReflectMap.map(new SourceB(1), SourceB.class, dst, ImmutableDestinationB.class, CopyMode.CONSTRUCTOR));
+    }
+
+    @Test
+    void testConstructorModeWithoutConstructorThrowsException() {
+        assertThrows(ConstructorNotFoundException.class, () -> ReflectMap.map(new SourceB(1), DirectDestinationB.class, CopyMode.CONSTRUCTOR));
+    }
+
+    @Test
+    void testNestedDestinationPathCreatesMissingObjectsOnce() {
+        for (CopyMode copyMode : List.of(CopyMode.ANNOTATION_DRIVEN, CopyMode.ANNOTATION_DRIVEN_HIDDEN_CLASS)) {
+            DestinationWithNestedPath dst = new DestinationWithNestedPath();
+            dst.setExisting(new InnerDestination());
+
+            ReflectMap.map(new SourceA("First"), SourceA.class, dst, DestinationWithNestedPath.class, copyMode);
+            InnerDestination created = dst.getCreated();
+            InnerDestination child = created.getChild();
+            assertEquals("First", child.getValue());
+            assertEquals("First", dst.getExisting().getValue());
+
+            ReflectMap.map(new SourceA("Second"), SourceA.class, dst, DestinationWithNestedPath.class, copyMode);
+            assertSame(created, dst.getCreated());
+            assertSame(child, dst.getCreated().getChild());
+            assertEquals("Second", child.getValue());
+        }
+    }
+
+    @Test
+    void testDeepCopyKeepsSharedReferencesAndCycles() {
+        GraphNode root = node("root");
+        GraphNode shared = node("shared");
+        root.setLeft(node("left"));
+        root.setRight(node("right"));
+        root.getLeft().setLeft(shared);
+        root.getRight().setLeft(shared);
+        shared.setRight(root);
+        root.setWeights(new int[] {1, 2, 3});
+        root.setChildren(new GraphNode[] {shared, root.getLeft(), null});
+
+        GraphNode copy = ReflectMap.map(root, GraphNode.class, CopyMode.DEEP_COPY);
+        assertNotSame(root, copy);
+        assertNotSame(shared, copy.getLeft().getLeft());
+        assertEquals("shared", copy.getLeft().getLeft().getName());
+        assertSame(copy.getLeft().getLeft(), copy.getRight().getLeft());
+        assertSame(copy, copy.getLeft().getLeft().getRight());
+        assertArrayEquals(new int[] {1, 2, 3}, copy.getWeights());
+        assertNotSame(root.getWeights(), copy.getWeights());
+        assertArrayEquals(new GraphNode[] {copy.getLeft().getLeft(), copy.getLeft(), null}, copy.getChildren());
+    }
+
+    @Test
+    void testDeepCopyCopiesCollectionsAndTheirElements() {
+        GraphNode root = node("root");
+        GraphNode shared = node("shared");
+        root.setLeft(shared);
+        root.setNeighbours(new ArrayList<>(List.of(shared, node("other"))));
+        shared.setNeighbours(List.of(root));
+
+        GraphNode copy = ReflectMap.map(root, GraphNode.class, CopyMode.DEEP_COPY);
+        assertNotSame(root.getNeighbours(), copy.getNeighbours());
+        assertInstanceOf(ArrayList.class, copy.getNeighbours());
+        assertSame(copy.getLeft(), copy.getNeighbours().get(0));
+        assertNotSame(shared, copy.getNeighbours().get(0));
+        assertEquals("other", copy.getNeighbours().get(1).getName());
+        assertSame(copy, copy.getLeft().getNeighbours().get(0));
+
+        copy.getNeighbours().add(node("added"));
+        assertEquals(2, root.getNeighbours().size());
+    }
+
+    @Test
+    void testDeepCopyCopiesEnumSetsAndEnumMaps() {
+        EnumContainers src = new EnumContainers();
+        src.setColors(EnumSet.of(Color.GREEN));
+        src.setLabels(new EnumMap<>(Color.class));
+        src.getLabels().put(Color.RED, new ArrayList<>(List.of("Stop")));
+
+        EnumContainers copy = ReflectMap.map(src, EnumContainers.class, CopyMode.DEEP_COPY);
+        assertEquals(EnumSet.of(Color.GREEN), copy.getColors());
+        assertNotSame(src.getColors(), copy.getColors());
+        assertEquals(List.of("Stop"), copy.getLabels().get(Color.RED));
+        assertNotSame(src.getLabels().get(Color.RED), copy.getLabels().get(Color.RED));
+    }
+
+    @Test
+    void testDeepCopyOfUnrecreatableFieldNamesTheField() {
+        FixedCapacityHolder src = new FixedCapacityHolder();
+        src.setItems(new FixedCapacityList(1));
+
+        ReflectMapException e = assertThrows(ReflectMapException.class,
+                () -> ReflectMap.map(src, FixedCapacityHolder.class, CopyMode.DEEP_COPY));
+        assertTrue(e.getMessage().contains(FixedCapacityHolder.class.getName() + ".items"), e.getMessage());
+    }
+
+    @Test
+    void testDeepCopyTableIsReusedAcrossCalls() {
+        GraphNode root = node("root");
+        GraphNode[] children = new GraphNode[1_000];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = node("child" + i);
+        }
+        root.setChildren(children);
+        root.setLeft(children[999]);
+
+        Mapper<GraphNode, GraphNode> mapper = ReflectMap.mapper(GraphNode.class, GraphNode.class, CopyMode.DEEP_COPY);
+        for (int round = 0; round < 2; round++) {
+            GraphNode copy = mapper.map(root);
+            assertEquals("child500", copy.getChildren()[500].getName());
+            assertSame(copy.getChildren()[999], copy.getLeft());
+            assertNotSame(children[999], copy.getLeft());
+        }
+    }
+
+    private static GraphNode node(String name) {
+        GraphNode node = new GraphNode();
+        node.setName(name);
+        return node;
+    }
+
+    @Test
+    void testIncompatibleFieldTypesAreConverted() {
+        ReflectMap.registerConverter(String.class, UUID.class, UUID::fromString);
+        UUID id = UUID.randomUUID();
+        SourceConversions src = new SourceConversions(1_000_000, 300, "42", Instant.ofEpochMilli(1_700_000_000_000L),
+                Color.GREEN, "RED", null, 7, id.toString());
+
+        for (CopyMode copyMode : List.of(CopyMode.DIRECT_COPY, CopyMode.DIRECT_COPY_HIDDEN_CLASS)) {
+            DestinationConversions dst = ReflectMap.map(src, DestinationConversions.class, copyMode);
+            assertEquals(1_000_000L, dst.getCount());
+            assertEquals((byte) 300, dst.getNarrowed());
+            assertEquals(42, dst.getAmount());
+            assertEquals(1_700_000_000_000L, dst.getCreatedAt());
+            assertEquals("GREEN", dst.getColor());
+            assertEquals(Color.RED, dst.getParsedColor());
+            assertEquals(0, dst.getBoxed());
+            assertEquals(7L, dst.getWidenedBoxed());
+            assertEquals(id, dst.getId());
+        }
+    }
+
+    @Test
+    void testObjectsAreNotConvertedToStringWithoutARegisteredConverter() {
+        SourceTimestamp src = new SourceTimestamp(Instant.ofEpochMilli(1_700_000_000_000L));
+
+        IncompatibleFieldTypesException e = assertThrows(IncompatibleFieldTypesException.class,
+                () -> ReflectMap.map(src, DestinationTimestamp.class, CopyMode.DIRECT_COPY));
+        assertTrue(e.getMessage().endsWith(DestinationTimestamp.class + ".createdAt"));
+    }
+
+    @Test
+    void testInheritedFieldsAreMapped() {
+        SourceEntity src = new SourceEntity(7L, 3, "Entity");
+
+        for (CopyMode copyMode : List.of(CopyMode.DIRECT_COPY, CopyMode.DIRECT_COPY_HIDDEN_CLASS)) {
+            DestinationEntity dst = ReflectMap.map(src, DestinationEntity.class, copyMode);
+            assertEquals(7L, dst.getId());
+            assertEquals(3, dst.getVersion());
+            assertEquals("Entity", dst.getName());
+        }
+
+        for (CopyMode copyMode : List.of(CopyMode.ANNOTATION_DRIVEN, CopyMode.ANNOTATION_DRIVEN_HIDDEN_CLASS)) {
+            DestinationEntity dst = ReflectMap.map(src, DestinationEntity.class, copyMode);
+            assertEquals("Entity", dst.getLabel());
+            assertEquals(3, dst.getRevision());
+        }
+    }
+
+    @Test
+    void testHiddenSuperclassFieldsAreNotMapped() {
+        SourceEntity src = new SourceEntity(7L, 3, "Entity");
+
+        for (CopyMode copyMode : List.of(CopyMode.DIRECT_COPY, CopyMode.DIRECT_COPY_HIDDEN_CLASS)) {
+            DestinationEntityShadowing dst = ReflectMap.map(src, DestinationEntityShadowing.class, copyMode);
+            assertEquals(7L, dst.getId());
+            assertEquals("Entity", dst.getName());
+            assertNull(dst.getShadowedName());
+        }
+        assertEquals(List.of("id", "name"), ReflectMap.changeMaskFields(SourceEntity.class, DestinationEntityShadowing.class, CopyMode.DIRECT_COPY));
+    }
+
+    @Test
+    void testPrecompileReportsCompiledAndFailedPairs() {
+        TypePair valid = TypePair.of(SourceA.class, Destination1.class);
+        TypePair incompatible = TypePair.of(SourceA.class, Destination3.class);
+
+        PrecompileReport report = ReflectMap.precompile(CopyMode.ANNOTATION_DRIVEN, List.of(valid, incompatible));
+        assertFalse(report.isSuccessful());
+        assertEquals(List.of(valid), report.compiled().stream().map(PrecompileReport.Compiled::pair).toList());
+        assertEquals(incompatible, report.failures().get(0).pair());
+        assertInstanceOf(IncompatibleFieldTypesException.class, report.failures().get(0).cause());
+    }
+
+    @Test
+    void testPrecompileScansPackageForFieldMappingPairs() throws Exception {
+        PrecompileReport report = ReflectMap.precompile(CopyMode.ANNOTATION_DRIVEN, "com.reflectmap.mock",
+                getClass().getClassLoader(), Runnable::run);
+
+        List<TypePair> compiled = report.compiled().stream().map(PrecompileReport.Compiled::pair).toList();
+        assertTrue(compiled.contains(TypePair.of(SourceA.class, Destination1.class)));
+        assertTrue(compiled.contains(TypePair.of(SourceEntity.class, DestinationEntity.class)));
+        assertFalse(compiled.contains(TypePair.of(SourceA.class, DirectDestinationB.class)));
+        assertTrue(report.failures().stream().anyMatch(failure -> failure.pair().equals(TypePair.of(SourceA.class, Destination3.class))));
+    }
+
+    @Test
+    void testPrecompileSkipsScannedClassesWithUnresolvableFields() throws Exception {
+        Path sources = Files.createDirectories(dir.resolve("src/scanned"));
+        Files.writeString(sources.resolve("Missing.java"), "package scanned; public class Missing {}");
+        Files.writeString(sources.resolve("Source.java"), "package scanned; public class Source { public String name; }");
+        Files.writeString(sources.resolve("Broken.java"), """
+                package scanned;
+                public class Broken {
+                    @com.reflectmap.annotation.FieldMapping(srcType = Source.class, srcFieldName = "name")
+                    public String name;
+                    public Missing missing;
+                }
+                """);
+        Files.writeString(sources.resolve("Fine.java"), """
+                package scanned;
+                public class Fine {
+                    @com.reflectmap.annotation.FieldMapping(srcType = Source.class, srcFieldName = "name")
+                    public String name;
+                }
+                """);
+        Path classes = Files.createDirectories(dir.resolve("classes"));
+        assertEquals(0, ToolProvider.getSystemJavaCompiler().run(null, null, null, "-d", classes.toString(),
+                "-classpath", System.getProperty("java.class.path"), sources.resolve("Missing.java").toString(),
+                sources.resolve("Source.java").toString(), sources.resolve("Broken.java").toString(),
+                sources.resolve("Fine.java").toString()));
+        Files.delete(classes.resolve("scanned/Missing.class"));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {classes.toUri().toURL()}, getClass().getClassLoader())) {
+            PrecompileReport report = ReflectMap.precompile(CopyMode.ANNOTATION_DRIVEN, "scanned", loader, Runnable::run);
+
+            assertTrue(report.isSuccessful());
+            assertEquals(List.of(TypePair.of(loader.loadClass("scanned.Source"), loader.loadClass("scanned.Fine"))),
+                    report.compiled().stream().map(PrecompileReport.Compiled::pair).toList());
+        }
+    }
+
+    @Test
+    void testPrecompileRejectsBlankPackagePrefix() {
+        assertThrows(IllegalArgumentException.class, () -> ReflectMap.precompile(""));
+        assertThrows(IllegalArgumentException.class, () -> ReflectMap.precompile(CopyMode.ANNOTATION_DRIVEN, " ",
+                getClass().getClassLoader(), Runnable::run));
+    }
+
+    @Test
+    void testConcurrentFirstUseOfPairMapsOnEveryThread() throws Exception {
+        int threads = 16;
+        SourcePrimitives src = new SourcePrimitives(true, (byte) 1, 'a', (short) 2, 3, 4L, 5f, 6d);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Path file = dir.resolve("concurrent.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.reflectmap.Compile");
+            recording.start();
+
+            List<Future<DirectDestinationPrimitives>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    DirectDestinationPrimitives dst = new DirectDestinationPrimitives();
+                    ReflectMap.map(src, SourcePrimitives.class, dst, DirectDestinationPrimitives.class, CopyMode.ALL);
+                    return dst;
+                }));
+            }
+            start.countDown();
+
+            for (Future<DirectDestinationPrimitives> result : results) {
+                assertEquals(3, result.get().getQuantity());
+                assertEquals(6d, result.get().getPrice());
+            }
+
+            recording.stop();
+            recording.dump(file);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long compilations = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getString("copyMode").equals(CopyMode.ALL.name())
+                        && event.getClass("dstType").getName().equals(DirectDestinationPrimitives.class.getName()))
+                .count();
+        assertEquals(1, compilations);
+    }
+
+    @Test
+    void testMetricsAreDisabledByDefault() {
+        ReflectMap.map(new SourceA("Hello"), SourceA.class, new Destination1(), Destination1.class);
+
+        assertFalse(ReflectMapMetrics.isEnabled());
+        assertTrue(ReflectMapMetrics.pairs().isEmpty());
+    }
+
+    @Test
+    void testJfrRecordsCompilationsFailuresAndSampledMapCalls() throws Exception {
+        Path file = dir.resolve("reflectmap.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.reflectmap.Compile");
+            recording.enable("com.reflectmap.LookupFailure");
+            recording.enable("com.reflectmap.Map");
+            recording.start();
+
+            SourceA src = new SourceA("Hello");
+            for (int i = 0; i < 2048; i++) {
+                ReflectMap.map(src, SourceA.class, new DestinationWithMultipleSources(), DestinationWithMultipleSources.class,
+                        CopyMode.ANNOTATION_DRIVEN_HIDDEN_CLASS);
+            }
+            assertThrows(FieldsNotFoundException.class, () -> ReflectMap.map(new SourceB(1), SourceB.class, new Destination4(),
+                    Destination4.class, CopyMode.ANNOTATION_DRIVEN_HIDDEN_CLASS));
+
+            Mapper<SourceA, DestinationWithMultipleSources> mapper = ReflectMap.mapper(SourceA.class, DestinationWithMultipleSources.class);
+            Source3Fields fields = new Source3Fields("Hello1", "Hello2", "Hello3");
+            for (int i = 0; i < 1024; i++) {
+                mapper.map(src);
+                ReflectMap.map(fields, Source3Fields.class, new DestinationWithGroups(), DestinationWithGroups.class,
+                        CopyMode.ANNOTATION_DRIVEN, Projection.ofGroup("summary"));
+                ReflectMap.mapChanges(src, SourceA.class, new Destination1(), Destination1.class, CopyMode.ANNOTATION_DRIVEN);
+            }
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("com.reflectmap.Compile")
+                && event.getClass("dstType").getName().equals(DestinationWithMultipleSources.class.getName())
+                && event.getInt("fieldCount") == 1));
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("com.reflectmap.LookupFailure")
+                && event.getClass("dstType").getName().equals(Destination4.class.getName())));
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("com.reflectmap.Map")
+                && event.getInt("fieldCount") == 1));
+        for (String copyMode : List.of("ANNOTATION_DRIVEN", "ANNOTATION_DRIVEN[group:summary]", "ANNOTATION_DRIVEN[changes]")) {
+            assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("com.reflectmap.Map")
+                    && event.getString("copyMode").equals(copyMode)), copyMode);
+        }
+    }
+
+    @Test
+    void testMapperCacheReportsFootprintAndEvictsByClassLoader() {
+        TypePair pair = TypePair.of(SourceB.class, DirectDestinationB.class);
+        ReflectMap.map(new SourceB(3), SourceB.class, new DirectDestinationB(), DirectDestinationB.class, CopyMode.DIRECT_COPY_HIDDEN_CLASS);
+
+        MapperCache.Footprint footprint = MapperCache.footprint().stream()
+                .filter(entry -> entry.pair().equals(pair) && entry.copyMode() == CopyMode.DIRECT_COPY_HIDDEN_CLASS)
+                .findFirst().orElseThrow();
+        assertEquals(1, footprint.classes());
+        assertTrue(footprint.estimatedBytes() > 0);
+
+        assertTrue(MapperCache.evict(DirectDestinationB.class.getClassLoader()) > 0);
+        assertTrue(MapperCache.footprint().stream().noneMatch(entry -> entry.pair().equals(pair)));
+
+        DirectDestinationB dst = new DirectDestinationB();
+        ReflectMap.map(new SourceB(3), SourceB.class, dst, DirectDestinationB.class, CopyMode.DIRECT_COPY_HIDDEN_CLASS);
+        assertEquals(3, dst.getValue());
+    }
+
+    @Test
+    void testMapChangesOnlyWritesAndReportsChangedFields() {
+        assertEquals(List.of("flag", "code", "side", "venue", "quantity", "timestamp", "spread", "price"),
+                ReflectMap.changeMaskFields(SourcePrimitives.class, DirectDestinationPrimitives.class, CopyMode.DIRECT_COPY));
+
+        DirectDestinationPrimitives dst = new DirectDestinationPrimitives();
+        SourcePrimitives src = new SourcePrimitives(true, (byte) 0, 'Z', (short) 0, 7, 0L, Float.NaN, 1.5);
+        assertEquals(0b1101_0101L, ReflectMap.mapChanges(src, SourcePrimitives.class, dst, DirectDestinationPrimitives.class, CopyMode.DIRECT_COPY));
+        assertEquals(7, dst.getQuantity());
+        assertEquals(0L, ReflectMap.mapChanges(src, SourcePrimitives.class, dst, DirectDestinationPrimitives.class, CopyMode.DIRECT_COPY));
+
+        src = new SourcePrimitives(true, (byte) 0, 'Z', (short) 0, 8, 0L, Float.NaN, -0.0);
+        BitSet changed = ReflectMap.mapChangeSet(src, SourcePrimitives.class, dst, DirectDestinationPrimitives.class, CopyMode.DIRECT_COPY);
+        assertEquals(BitSet.valueOf(new long[] {0b1001_0000L}), changed);
+        assertEquals(-0.0, dst.getPrice());
+
+        Destination1 annotated = new Destination1();
+        String value = new String("Hello");
+        assertEquals(1L, ReflectMap.mapChanges(new SourceA(value), SourceA.class, annotated, Destination1.class, CopyMode.ANNOTATION_DRIVEN));
+        assertEquals(0L, ReflectMap.mapChanges(new SourceA(value), SourceA.class, annotated, Destination1.class, CopyMode.ANNOTATION_DRIVEN));
+        assertEquals(1L, ReflectMap.mapChanges(new SourceA(new String("Hello")), SourceA.class, annotated, Destination1.class, CopyMode.ANNOTATION_DRIVEN));
+
+        assertThrows(ReflectMapException.class, () -> ReflectMap.mapChanges(new SourceB(3), SourceB.class, new DirectDestinationB(), DirectDestinationB.class, CopyMode.DEEP_COPY));
+    }
+
+    @Test
+    void testProjectionsCopyOnlyTheirFields() {
+        Source3Fields src = new Source3Fields("One", "Two", "Three");
+
+        DestinationWithGroups summary = new DestinationWithGroups();
+        ReflectMap.map(src, Source3Fields.class, summary, DestinationWithGroups.class, CopyMode.ANNOTATION_DRIVEN, Projection.ofGroup("summary"));
+        assertEquals("One", summary.getValue1());
+        assertNull(summary.getValue2());
+        assertNull(summary.getValue3());
+
+        DestinationWithGroups detail = ReflectMap.mapper(Source3Fields.class, DestinationWithGroups.class,
+                CopyMode.ANNOTATION_DRIVEN_HIDDEN_CLASS, Projection.ofGroup("detail")).map(src);
+        assertEquals("One", detail.getValue1());
+        assertEquals("Two", detail.getValue2());
+        assertNull(detail.getValue3());
+
+        DestinationWithGroups byName = new DestinationWithGroups();
+        ReflectMap.map(src, Source3Fields.class, byName, DestinationWithGroups.class, CopyMode.ALL, Projection.ofFields("value2", "value3"));
+        assertNull(byName.getValue1());
+        assertEquals("Two", byName.getValue2());
+        assertEquals("Three", byName.getValue3());
+
+        DestinationWithGroups full = new DestinationWithGroups();
+        ReflectMap.map(src, Source3Fields.class, full, DestinationWithGroups.class, CopyMode.ALL);
+        assertEquals("One", full.getValue1());
+        assertEquals("Three", full.getValue3());
+
+        assertThrows(FieldsNotFoundException.class, () -> ReflectMap.map(src, Source3Fields.class, new DestinationWithGroups(),
+                DestinationWithGroups.class, CopyMode.ALL, Projection.ofGroup("missing")));
+        for (CopyMode copyMode : List.of(CopyMode.ALL, CopyMode.DIRECT_COPY_NON_NULL, CopyMode.DIRECT_COPY_HIDDEN_CLASS)) {
+            assertThrows(FieldNotFoundException.class, () -> ReflectMap.map(src, Source3Fields.class, new DestinationWithGroups(),
+                    DestinationWithGroups.class, copyMode, Projection.ofFields("value1", "valeu2")));
+        }
+        assertThrows(IllegalArgumentException.class, () -> Projection.ofFields());
+    }
+
+    @Test
+    void testNonNullModesSkipNullSourceValues() {
+        Destination3Fields dst = new Destination3Fields();
+        dst.setDestValue1("Old1");
+        dst.setDestValue2("Old2");
+
+        ReflectMap.map(new Source3Fields("New1", null, null), Source3Fields.class, dst, Destination3Fields.class, CopyMode.ANNOTATION_DRIVEN_NON_NULL);
+        assertEquals("New1", dst.getDestValue1());
+        assertEquals("Old2", dst.getDestValue2());
+        assertNull(dst.getDestValue3());
+
+        Mapper<Source3Fields, Destination3Fields> mapper = ReflectMap.mapper(Source3Fields.class, Destination3Fields.class, CopyMode.ANNOTATION_DRIVEN_NON_NULL);
+        mapper.map(new Source3Fields(null, "New2", null), dst);
+        assertEquals("New1", dst.getDestValue1());
+        assertEquals("New2", dst.getDestValue2());
+
+        DirectDestinationB primitive = new DirectDestinationB();
+        ReflectMap.map(new SourceB(5), SourceB.class, primitive, DirectDestinationB.class, CopyMode.DIRECT_COPY_NON_NULL);
+        assertEquals(5, primitive.getValue());
+        ReflectMap.map(new SourceB(0), SourceB.class, primitive, DirectDestinationB.class, CopyMode.DIRECT_COPY_NON_NULL);
+        assertEquals(0, primitive.getValue());
+    }
+
+    @Test
+    void testNonNullModesSkipNullSourceValuesBeforeConversion() {
+        ReflectMap.registerConverter(String.class, UUID.class, UUID::fromString);
+        UUID id = UUID.randomUUID();
+        DestinationConversions dst = new DestinationConversions();
+
+        ReflectMap.map(new SourceConversions(1, 2, "3", Instant.ofEpochMilli(4), Color.GREEN, "RED", 5, 6, id.toString()),
+                SourceConversions.class, dst, DestinationConversions.class, CopyMode.DIRECT_COPY_NON_NULL);
+        assertEquals(5, dst.getBoxed());
+
+        ReflectMap.map(new SourceConversions(1, 2, null, null, null, null, null, 6, null),
+                SourceConversions.class, dst, DestinationConversions.class, CopyMode.DIRECT_COPY_NON_NULL);
+        assertEquals(5, dst.getBoxed());
+        assertEquals(3, dst.getAmount());
+        assertEquals(4L, dst.getCreatedAt());
+        assertEquals("GREEN", dst.getColor());
+        assertEquals(Color.RED, dst.getParsedColor());
+        assertEquals(id, dst.getId());
+    }
+}
@@ -0,0 +1,85 @@
+package com.reflectmap.test;
+
+import static com.reflectmap.mock.Destinations.*;
+import static com.reflectmap.mock.Sources.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reflectmap.CopyMode;
+import com.reflectmap.MapperCache;
+import com.reflectmap.ReflectMap;
+import com.reflectmap.TypePair;
+import com.reflectmap.internal.CompiledLambdaStore;
+import com.reflectmap.internal.compiler.Compiler;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Runs in its own JVM with {@code -Dreflectmap.compile.tierThreshold=3}.
+ */
+public class TieredCompilationTest {
+
+    private static final TypePair PAIR = TypePair.of(SourceB.class, DirectDestinationB.class);
+
+    @Test
+    void testPairIsInterpretedUntilTheThresholdThenCompiled() {
+        for (int call = 1; call <= 3; call++) {
+            assertEquals(call, map(call));
+            assertEquals(0, footprint().classes(), "compiled after " + call + " calls");
+        }
+
+        assertEquals(4, map(4));
+        assertEquals(1, footprint().classes());
+        assertEquals(5, map(5));
+        assertEquals(1, footprint().classes());
+    }
+
+    @Test
+    void testKeptMappersAreCompiledImmediately() {
+        DirectDestinationPrimitives dst = ReflectMap.mapper(SourcePrimitives.class, DirectDestinationPrimitives.class,
+                CopyMode.DIRECT_COPY_HIDDEN_CLASS).map(new SourcePrimitives(true, (byte) 1, 'a', (short) 2, 3, 4L, 5f, 6.0));
+        assertEquals(3, dst.getQuantity());
+        assertEquals(1, MapperCache.footprint().stream()
+                .filter(entry -> entry.pair().equals(TypePair.of(SourcePrimitives.class, DirectDestinationPrimitives.class)))
+                .findFirst().orElseThrow().classes());
+    }
+
+    @Test
+    void testFailedPromotionKeepsInterpretingButIsNeverReportedAsCompiled() {
+        AtomicInteger compilations = new AtomicInteger();
+        BiConsumer<Object, Object> interpreted = (src, dst) -> {};
+        CompiledLambdaStore<BiConsumer<Object, Object>> store = new CompiledLambdaStore<>(CopyMode.DIRECT_COPY.name(), new Compiler<>() {
+            @Override
+            public BiConsumer<Object, Object> compile(Class<?> srcType, Class<?> dstType) {
+                compilations.incrementAndGet();
+                throw new IllegalStateException("Cannot compile");
+            }
+
+            @Override
+            public BiConsumer<Object, Object> interpret(Class<?> srcType, Class<?> dstType) {
+                return interpreted;
+            }
+        });
+
+        for (int call = 1; call <= 10; call++) {
+            assertSame(interpreted, store.get(SourceA.class, Destination1.class));
+        }
+        assertEquals(1, compilations.get());
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> store.getCompiled(SourceA.class, Destination1.class));
+        assertEquals("Cannot compile", e.getCause().getMessage());
+        assertEquals(2, compilations.get());
+        assertSame(interpreted, store.get(SourceA.class, Destination1.class));
+    }
+
+    private static int map(int value) {
+        DirectDestinationB dst = new DirectDestinationB();
+        ReflectMap.map(new SourceB(value), SourceB.class, dst, DirectDestinationB.class, CopyMode.DIRECT_COPY_HIDDEN_CLASS);
+        return dst.getValue();
+    }
+
+    private static MapperCache.Footprint footprint() {
+        return MapperCache.footprint().stream().filter(entry -> entry.pair().equals(PAIR)).findFirst().orElseThrow();
+    }
+}
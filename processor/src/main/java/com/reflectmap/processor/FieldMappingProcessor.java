@@ -0,0 +1,131 @@
+package com.reflectmap.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a plain Java mapper for every (srcType, dstType) pair declared through {@code @FieldMapping}.
+ *
+ * <p>A pair is only generated when every one of its fields can be read and written directly from the destination
+ * package, as the runtime does without calling getters or setters. Any other pair is skipped with a note, and
+ * ReflectMap compiles it at runtime exactly as it would without this processor.</p>
+ */
+@SupportedAnnotationTypes(FieldMappingProcessor.FIELD_MAPPING)
+public final class FieldMappingProcessor extends AbstractProcessor {
+
+    static final String FIELD_MAPPING = "com.reflectmap.annotation.FieldMapping";
+
+    private final Set<String> generated = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            Set<TypeElement> dstTypes = new LinkedHashSet<>();
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.FIELD) {
+                    dstTypes.add((TypeElement) element.getEnclosingElement());
+                }
+            }
+
+            Map<TypeElement, Map<TypeElement, List<MappedField>>> pairs = new LinkedHashMap<>();
+            Map<TypeElement, List<MappedField>> mappedFields = new LinkedHashMap<>();
+            for (TypeElement dstType : dstTypes) {
+                for (VariableElement dstField : MapperSourceWriter.fieldsIn(dstType)) {
+                    for (AnnotationMirror mirror : dstField.getAnnotationMirrors()) {
+                        if (mirror.getAnnotationType().asElement() != annotation) {
+                            continue;
+                        }
+
+                        TypeElement srcType = (TypeElement) ((DeclaredType) value(mirror, "srcType")).asElement();
+                        String srcFieldName = ((String) value(mirror, "srcFieldName")).trim();
+                        Object dstFieldName = value(mirror, "dstFieldName");
+                        Object nullSafe = value(mirror, "nullSafe");
+                        MappedField field = new MappedField(srcType, srcFieldName.split("\\."), dstField,
+                                dstFieldName != null && !((String) dstFieldName).isBlank(),
+                                nullSafe != null && (Boolean) nullSafe);
+                        mappedFields.computeIfAbsent(dstType, k -> new ArrayList<>()).add(field);
+                        pairs.computeIfAbsent(dstType, k -> new LinkedHashMap<>())
+                                .computeIfAbsent(srcType, k -> new ArrayList<>())
+                                .add(field);
+                    }
+                }
+            }
+
+            pairs.forEach((dstType, bySrcType) -> bySrcType.forEach((srcType, fields) ->
+                    generate(srcType, dstType, fields, mappedFields.get(dstType))));
+        }
+        return false;
+    }
+
+    /**
+     * @param fields The fields mapped from exactly the source type.
+     * @param allFields Every mapped field of the destination type, whatever its source type.
+     */
+    private void generate(TypeElement srcType, TypeElement dstType, List<MappedField> fields, List<MappedField> allFields) {
+        MapperSourceWriter writer = new MapperSourceWriter(processingEnv, srcType, dstType);
+        if (!generated.add(writer.qualifiedName())) {
+            return;
+        }
+
+        String reason = writer.resolve(fields, allFields);
+        if (reason != null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    String.format("ReflectMap will compile %s -> %s at runtime: %s",
+                            srcType.getQualifiedName(), dstType.getQualifiedName(), reason), dstType);
+            return;
+        }
+
+        try (Writer out = processingEnv.getFiler().createSourceFile(writer.qualifiedName(), dstType, srcType).openWriter()) {
+            out.write(writer.source());
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write mapper " + writer.qualifiedName() + ": " + e.getMessage(), dstType);
+        }
+    }
+
+    private static Object value(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * One {@code @FieldMapping} occurrence: the declared source type, the dotted source path, the annotated destination field, whether it maps
+     * into a nested path below that field, and whether a null on the source path yields a default value.
+     */
+    record MappedField(TypeElement srcType, String[] srcFieldNames, VariableElement dstField, boolean nested, boolean nullSafe) {
+
+        TypeMirror dstFieldType() {
+            return dstField.asType();
+        }
+    }
+}
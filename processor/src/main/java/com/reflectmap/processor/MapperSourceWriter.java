@@ -0,0 +1,270 @@
+package com.reflectmap.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resolves the fields of a single (srcType, dstType) pair into plain Java statements, and renders the mapper class.
+ *
+ * <p>The generated class is named {@code <dst binary name>$$ReflectMap$$<src binary name, '.' replaced by '_'>}
+ * and lives in the package of the destination type. This convention must match {@code GeneratedMapperCompiler}
+ * in the core module, which loads these classes at runtime.</p>
+ */
+final class MapperSourceWriter {
+
+    static final String SEPARATOR = "$$ReflectMap$$";
+
+    /**
+     * The constant holding the number of fields a generated mapper writes. Must match
+     * {@code GeneratedMapperCompiler.FIELD_COUNT} in the core module.
+     */
+    static final String FIELD_COUNT = "FIELD_COUNT";
+
+    private final Types types;
+    private final Elements elements;
+    private final TypeElement srcType;
+    private final TypeElement dstType;
+    private final String packageName;
+    private final String simpleName;
+    private final List<String> statements = new ArrayList<>();
+
+    MapperSourceWriter(ProcessingEnvironment processingEnv, TypeElement srcType, TypeElement dstType) {
+        this.types = processingEnv.getTypeUtils();
+        this.elements = processingEnv.getElementUtils();
+        this.srcType = srcType;
+        this.dstType = dstType;
+
+        PackageElement dstPackage = elements.getPackageOf(dstType);
+        this.packageName = dstPackage.isUnnamed() ? "" : dstPackage.getQualifiedName().toString();
+        String dstBinaryName = elements.getBinaryName(dstType).toString();
+        String srcBinaryName = elements.getBinaryName(srcType).toString();
+        this.simpleName = dstBinaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1)
+                + SEPARATOR + srcBinaryName.replace('.', '_');
+    }
+
+    String qualifiedName() {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    /**
+     * Resolves every field into a statement that reads and writes fields directly, like the runtime compilers. Getters
+     * and setters are never called, since they may validate, derive or have side effects the runtime would skip, so a
+     * pair with a field the generated class cannot access is left to the runtime.
+     *
+     * <p>At runtime a destination field takes the first mapping whose source type is compatible with the actual
+     * source type, which includes its supertypes, subtypes and {@code Object}. A generated mapper only covers the
+     * mappings declared for exactly its source type, so the pair is skipped if any other mapping would apply.</p>
+     *
+     * @param fields The fields mapped from exactly the source type.
+     * @param allFields Every mapped field of the destination type, whatever its source type.
+     * @return null if the whole pair can be generated, otherwise the reason it cannot.
+     */
+    String resolve(List<FieldMappingProcessor.MappedField> fields, List<FieldMappingProcessor.MappedField> allFields) {
+        if (srcType.getQualifiedName().contentEquals("java.lang.Object")) {
+            return "mappers are only looked up by the concrete source type";
+        }
+        if (!isAccessible(srcType) || !isAccessible(dstType)) {
+            return "the source or destination type is not accessible from package '" + packageName + "'";
+        }
+
+        for (FieldMappingProcessor.MappedField field : allFields) {
+            if (!field.srcType().equals(srcType) && isCompatible(types.erasure(field.srcType().asType()), types.erasure(srcType.asType()))) {
+                return "'" + field.dstField().getSimpleName() + "' is mapped from " + field.srcType().getQualifiedName()
+                        + ", which ReflectMap also applies to " + srcType.getQualifiedName();
+            }
+        }
+
+        for (FieldMappingProcessor.MappedField field : fields) {
+            String reason = resolve(field);
+            if (reason != null) {
+                return reason;
+            }
+        }
+        return null;
+    }
+
+    private String resolve(FieldMappingProcessor.MappedField field) {
+        if (field.nested()) {
+            return "'" + field.dstField().getSimpleName() + "' maps into a nested destination path";
+        }
+
+        String expression = "src";
+        TypeMirror currentType = srcType.asType();
+        List<String> nullChecks = new ArrayList<>();
+
+        for (String fieldName : field.srcFieldNames()) {
+            if (!expression.equals("src")) {
+                nullChecks.add(expression + " == null");
+            }
+
+            if (currentType.getKind() != TypeKind.DECLARED) {
+                return "'" + fieldName + "' is not a member of " + currentType;
+            }
+
+            TypeElement owner = (TypeElement) ((DeclaredType) currentType).asElement();
+            VariableElement srcField = findField(owner, fieldName);
+            if (srcField == null) {
+                return "no field '" + fieldName + "' in " + owner.getQualifiedName();
+            }
+
+            if (!isAccessible(srcField)) {
+                return "'" + fieldName + "' in " + owner.getQualifiedName() + " is not accessible";
+            }
+            expression += "." + fieldName;
+
+            currentType = types.erasure(srcField.asType());
+        }
+
+        if (field.nullSafe() && !nullChecks.isEmpty()) {
+            expression = "(" + String.join(" || ", nullChecks) + " ? " + defaultValue(currentType) + " : " + expression + ")";
+        }
+
+        VariableElement dstField = field.dstField();
+        TypeMirror dstFieldType = types.erasure(field.dstFieldType());
+        if (!isCompatible(currentType, dstFieldType)) {
+            return "incompatible field types " + currentType + " and " + dstFieldType;
+        }
+        if (!types.isAssignable(currentType, dstFieldType)) {
+            expression = "(" + dstFieldType + ") " + expression;
+        }
+
+        if (!isAccessible(dstField) || dstField.getModifiers().contains(Modifier.FINAL)) {
+            return "'" + dstField.getSimpleName() + "' in " + dstType.getQualifiedName() + " is not accessible";
+        }
+        statements.add("dst." + dstField.getSimpleName() + " = " + expression + ";");
+        return null;
+    }
+
+    String source() {
+        String srcName = srcType.getQualifiedName().toString();
+        String dstName = dstType.getQualifiedName().toString();
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("@javax.annotation.processing.Generated(\"").append(FieldMappingProcessor.class.getName()).append("\")\n");
+        source.append("public final class ").append(simpleName).append(" implements java.util.function.BiConsumer<Object, Object> {\n\n");
+        source.append("    public static final int ").append(FIELD_COUNT).append(" = ").append(statements.size()).append(";\n\n");
+        source.append("    public ").append(simpleName).append("() {}\n\n");
+        source.append("    @Override\n");
+        source.append("    public void accept(Object src, Object dst) {\n");
+        source.append("        map((").append(srcName).append(") src, (").append(dstName).append(") dst);\n");
+        source.append("    }\n\n");
+        source.append("    private static void map(").append(srcName).append(" src, ").append(dstName).append(" dst) {\n");
+        for (String statement : statements) {
+            source.append("        ").append(statement).append('\n');
+        }
+        source.append("    }\n");
+        source.append("}\n");
+        return source.toString();
+    }
+
+    /**
+     * Mirrors {@code TypeUtils.isTypeCompatible}, so generated mappers accept exactly the pairs the runtime accepts.
+     */
+    private boolean isCompatible(TypeMirror a, TypeMirror b) {
+        TypeMirror object = elements.getTypeElement("java.lang.Object").asType();
+        if (types.isSameType(a, object) || types.isSameType(b, object)) {
+            return true;
+        }
+        if (a.getKind().isPrimitive() || b.getKind().isPrimitive()) {
+            return types.isSameType(a, b);
+        }
+        return types.isAssignable(a, b) || types.isAssignable(b, a);
+    }
+
+    /**
+     * The value a null-safe path yields when an intermediate object is null, matching the runtime.
+     */
+    private static String defaultValue(TypeMirror type) {
+        return switch (type.getKind()) {
+            case BOOLEAN -> "false";
+            case CHAR -> "'\\0'";
+            case BYTE, SHORT, INT, LONG, FLOAT, DOUBLE -> "(" + type + ") 0";
+            default -> "null";
+        };
+    }
+
+    /**
+     * Every instance field of the type and its superclasses, superclass fields first, matching the runtime layout.
+     */
+    static List<VariableElement> fieldsIn(TypeElement type) {
+        List<TypeElement> hierarchy = hierarchy(type);
+        Collections.reverse(hierarchy);
+
+        List<VariableElement> fields = new ArrayList<>();
+        for (TypeElement current : hierarchy) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (!field.getModifiers().contains(Modifier.STATIC)) {
+                    fields.add(field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * The type followed by its superclasses, excluding {@code Object}.
+     */
+    private static List<TypeElement> hierarchy(TypeElement type) {
+        List<TypeElement> hierarchy = new ArrayList<>();
+        for (TypeElement current = type; current != null; ) {
+            if (current.getQualifiedName().contentEquals("java.lang.Object")) {
+                break;
+            }
+            hierarchy.add(current);
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+        return hierarchy;
+    }
+
+    /**
+     * The most derived instance field with the given name, declared by the owner or a superclass.
+     */
+    private static VariableElement findField(TypeElement owner, String name) {
+        for (TypeElement current : hierarchy(owner)) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (field.getSimpleName().contentEquals(name) && !field.getModifiers().contains(Modifier.STATIC)) {
+                    return field;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whether the generated class, declared in the destination package, may refer to the element.
+     */
+    private boolean isAccessible(Element element) {
+        for (Element current = element; current instanceof TypeElement || current == element; current = current.getEnclosingElement()) {
+            if (current.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (!current.getModifiers().contains(Modifier.PUBLIC) && !isInGeneratedPackage(current)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isInGeneratedPackage(Element element) {
+        PackageElement elementPackage = elements.getPackageOf(element);
+        String elementPackageName = elementPackage.isUnnamed() ? "" : elementPackage.getQualifiedName().toString();
+        return elementPackageName.equals(packageName);
+    }
+}
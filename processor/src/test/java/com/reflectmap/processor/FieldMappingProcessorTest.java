@@ -0,0 +1,238 @@
+package com.reflectmap.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reflectmap.ReflectMap;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+public class FieldMappingProcessorTest {
+
+    private static final String SOURCE = """
+            package sample;
+
+            public class Source {
+                final String name;
+                final int count;
+                public Source parent;
+
+                public Source(String name, int count) {
+                    this.name = name;
+                    this.count = count;
+                }
+
+                public String getName() { return name; }
+            }
+            """;
+
+    private static final String BASE_DESTINATION = """
+            package sample;
+
+            import com.reflectmap.annotation.FieldMapping;
+
+            public class BaseDestination {
+                @FieldMapping(srcType = Source.class, srcFieldName = "count")
+                public int baseCount;
+            }
+            """;
+
+    private static final String DESTINATION = """
+            package sample;
+
+            import com.reflectmap.annotation.FieldMapping;
+
+            public class Destination extends BaseDestination {
+                @FieldMapping(srcType = Source.class, srcFieldName = "name")
+                String title;
+                @FieldMapping(srcType = Source.class, srcFieldName = "count")
+                Object total;
+                @FieldMapping(srcType = Source.class, srcFieldName = "parent.name", nullSafe = true)
+                public String parentName;
+
+                public String getTitle() { return title; }
+                public void setTitle(String title) { this.title = title; }
+                public Object getTotal() { return total; }
+            }
+            """;
+
+    private static final String OPAQUE_DESTINATION = """
+            package sample;
+
+            import com.reflectmap.annotation.FieldMapping;
+
+            public class OpaqueDestination {
+                @FieldMapping(srcType = Source.class, srcFieldName = "name")
+                private String hidden;
+            }
+            """;
+
+    private static final String ACCESSOR_DESTINATION = """
+            package sample;
+
+            import com.reflectmap.annotation.FieldMapping;
+
+            public class AccessorDestination {
+                @FieldMapping(srcType = Source.class, srcFieldName = "name")
+                private String title;
+
+                public String getTitle() { return title; }
+                public void setTitle(String title) { this.title = title.toUpperCase(); }
+            }
+            """;
+
+    private static final String PARENT = """
+            package sample;
+
+            public class Parent {
+                public String label;
+            }
+            """;
+
+    private static final String CHILD = """
+            package sample;
+
+            public class Child extends Parent {
+                public String name;
+            }
+            """;
+
+    private static final String HIERARCHY_DESTINATION = """
+            package sample;
+
+            import com.reflectmap.annotation.FieldMapping;
+
+            public class HierarchyDestination {
+                @FieldMapping(srcType = Child.class, srcFieldName = "name")
+                public String name;
+                @FieldMapping(srcType = Parent.class, srcFieldName = "label")
+                public String label;
+            }
+            """;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testGeneratesMapperForAccessibleFields() throws Exception {
+        Path classes = compile();
+
+        assertTrue(Files.exists(classes.resolve("sample/Destination$$ReflectMap$$sample_Source.class")));
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {classes.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> srcType = loader.loadClass("sample.Source");
+            Class<?> dstType = loader.loadClass("sample.Destination");
+            Object src = srcType.getConstructor(String.class, int.class).newInstance("Hello", 42);
+            Object dst = dstType.getConstructor().newInstance();
+
+            Class<?> generated = loader.loadClass("sample.Destination$$ReflectMap$$sample_Source");
+            assertEquals(4, generated.getField("FIELD_COUNT").getInt(null));
+
+            @SuppressWarnings("unchecked")
+            BiConsumer<Object, Object> mapper = (BiConsumer<Object, Object>) generated.getConstructor().newInstance();
+            mapper.accept(src, dst);
+            assertEquals("Hello", dstType.getMethod("getTitle").invoke(dst));
+            assertEquals(42, dstType.getMethod("getTotal").invoke(dst));
+            assertEquals(42, dstType.getField("baseCount").get(dst));
+            assertNull(dstType.getField("parentName").get(dst));
+
+            srcType.getField("parent").set(src, srcType.getConstructor(String.class, int.class).newInstance("Parent", 0));
+            mapper.accept(src, dst);
+            assertEquals("Parent", dstType.getField("parentName").get(dst));
+
+            Object viaReflectMap = dstType.getConstructor().newInstance();
+            Path file = dir.resolve("compile.jfr");
+            try (Recording recording = new Recording()) {
+                recording.enable("com.reflectmap.Compile");
+                recording.start();
+                ReflectMap.map(src, srcType, viaReflectMap, dstType);
+                recording.stop();
+                recording.dump(file);
+            }
+            assertEquals("Hello", dstType.getMethod("getTitle").invoke(viaReflectMap));
+            assertTrue(RecordingFile.readAllEvents(file).stream().anyMatch(event -> event.getClass("dstType").getName().equals("sample.Destination")
+                    && event.getInt("fieldCount") == 4));
+        }
+    }
+
+    @Test
+    void testSkipsPairsThatNeedReflection() throws Exception {
+        Path classes = compile();
+
+        assertFalse(Files.exists(classes.resolve("sample/OpaqueDestination$$ReflectMap$$sample_Source.class")));
+    }
+
+    @Test
+    void testSkipsPairsThatWouldCallAccessors() throws Exception {
+        Path classes = compile();
+
+        assertFalse(Files.exists(classes.resolve("sample/AccessorDestination$$ReflectMap$$sample_Source.class")));
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {classes.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> srcType = loader.loadClass("sample.Source");
+            Class<?> dstType = loader.loadClass("sample.AccessorDestination");
+            Object src = srcType.getConstructor(String.class, int.class).newInstance("Hello", 42);
+
+            Object dst = dstType.getConstructor().newInstance();
+            ReflectMap.map(src, srcType, dst, dstType);
+            assertEquals("Hello", dstType.getMethod("getTitle").invoke(dst));
+        }
+    }
+
+    @Test
+    void testSkipsPairsWithMappingsFromRelatedSourceTypes() throws Exception {
+        Path classes = compile();
+
+        assertFalse(Files.exists(classes.resolve("sample/HierarchyDestination$$ReflectMap$$sample_Child.class")));
+        assertFalse(Files.exists(classes.resolve("sample/HierarchyDestination$$ReflectMap$$sample_Parent.class")));
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {classes.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> srcType = loader.loadClass("sample.Child");
+            Class<?> dstType = loader.loadClass("sample.HierarchyDestination");
+            Object src = srcType.getConstructor().newInstance();
+            srcType.getField("name").set(src, "Name");
+            srcType.getField("label").set(src, "Label");
+
+            Object dst = dstType.getConstructor().newInstance();
+            ReflectMap.map(src, srcType, dst, dstType);
+            assertEquals("Name", dstType.getField("name").get(dst));
+            assertEquals("Label", dstType.getField("label").get(dst));
+        }
+    }
+
+    private Path compile() throws IOException {
+        Path sources = Files.createDirectories(dir.resolve("src/sample"));
+        Files.writeString(sources.resolve("Source.java"), SOURCE);
+        Files.writeString(sources.resolve("BaseDestination.java"), BASE_DESTINATION);
+        Files.writeString(sources.resolve("Destination.java"), DESTINATION);
+        Files.writeString(sources.resolve("OpaqueDestination.java"), OPAQUE_DESTINATION);
+        Files.writeString(sources.resolve("AccessorDestination.java"), ACCESSOR_DESTINATION);
+        Files.writeString(sources.resolve("Parent.java"), PARENT);
+        Files.writeString(sources.resolve("Child.java"), CHILD);
+        Files.writeString(sources.resolve("HierarchyDestination.java"), HIERARCHY_DESTINATION);
+        Path classes = Files.createDirectories(dir.resolve("classes"));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                    List.of("-d", classes.toString(), "-classpath", System.getProperty("java.class.path")),
+                    null,
+                    fileManager.getJavaFileObjects(sources.resolve("Source.java"), sources.resolve("BaseDestination.java"),
+                            sources.resolve("Destination.java"), sources.resolve("OpaqueDestination.java"),
+                            sources.resolve("AccessorDestination.java"), sources.resolve("Parent.java"),
+                            sources.resolve("Child.java"), sources.resolve("HierarchyDestination.java")));
+            task.setProcessors(List.of(new FieldMappingProcessor()));
+            assertTrue(task.call(), "Compilation failed");
+        }
+        return classes;
+    }
+}